@@ -0,0 +1,168 @@
+package com.example.department.admission;
+
+import com.example.department.exception.CapacityExceededException;
+import com.example.department.exception.TooManyRequestsException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A concurrency limit that follows latency, with a bounded FIFO queue in front of it.
+ *
+ * <p>Each completed request feeds its latency into two moving averages: a short one that tracks current
+ * latency and a long one that stands for latency without queueing. While the short average stays within
+ * {@code tolerance} of the long one the limit grows by about its square root; when it climbs past that,
+ * the limit shrinks in proportion (at most halving per step). The limit moves only while at least half of
+ * it is in use, so an idle service does not grow a limit it has never tested.
+ *
+ * <p>A request over the limit waits in the queue for up to {@code maxQueueWait} and then fails with
+ * {@link CapacityExceededException} (503). When the queue is already full it fails at once with
+ * {@link TooManyRequestsException} (429), costing no thread time at all.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_SMOOTHING = 0.2;
+    private static final double LONG_SMOOTHING = 0.01;
+    private static final double LIMIT_SMOOTHING = 0.2;
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int queueCapacity;
+    private final long maxQueueWaitNanos;
+    private final double tolerance;
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition slotFreed = lock.newCondition();
+    private final AtomicLong shedQueueFull = new AtomicLong();
+    private final AtomicLong shedTimeout = new AtomicLong();
+
+    // Written under lock; volatile so the metrics gauges can read them without it.
+    private volatile double limit;
+    private volatile int inFlight;
+    private volatile int queued;
+    // Guarded by lock.
+    private double shortLatency;
+    private double longLatency;
+
+    public AdaptiveConcurrencyLimiter(String name, AdmissionProperties.Limit settings, double tolerance) {
+        if (settings.minLimit() < 1 || settings.maxLimit() < settings.minLimit()) {
+            throw new IllegalArgumentException("Invalid concurrency limits for " + name);
+        }
+        this.name = name;
+        this.minLimit = settings.minLimit();
+        this.maxLimit = settings.maxLimit();
+        this.queueCapacity = settings.queueCapacity();
+        this.maxQueueWaitNanos = settings.maxQueueWait().toNanos();
+        this.tolerance = tolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, settings.initialLimit()));
+    }
+
+    /** Takes a slot, waiting in the queue if needed. The returned permit must be released exactly once. */
+    public Permit acquire() {
+        lock.lock();
+        try {
+            if (queued == 0 && inFlight < limit()) {
+                inFlight++;
+                return new Permit();
+            }
+            if (queued >= queueCapacity) {
+                shedQueueFull.incrementAndGet();
+                throw new TooManyRequestsException("Too many " + name + " requests; retry later", RETRY_AFTER);
+            }
+            queued++;
+            try {
+                long remaining = maxQueueWaitNanos;
+                while (inFlight >= limit()) {
+                    if (remaining <= 0) {
+                        shedTimeout.incrementAndGet();
+                        throw new CapacityExceededException(
+                                "Timed out waiting for " + name + " capacity; retry later", RETRY_AFTER);
+                    }
+                    remaining = slotFreed.awaitNanos(remaining);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new CapacityExceededException("Interrupted waiting for " + name + " capacity");
+            } finally {
+                queued--;
+            }
+            inFlight++;
+            return new Permit();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight;
+    }
+
+    public int queued() {
+        return queued;
+    }
+
+    public long shedQueueFull() {
+        return shedQueueFull.get();
+    }
+
+    public long shedTimeout() {
+        return shedTimeout.get();
+    }
+
+    /** Feeds one latency sample taken while {@code inFlight} requests (including this one) were running. */
+    void onSample(long latencyNanos, int inFlight) {
+        if (longLatency == 0) {
+            shortLatency = latencyNanos;
+            longLatency = latencyNanos;
+        } else {
+            shortLatency += (latencyNanos - shortLatency) * SHORT_SMOOTHING;
+            longLatency += (latencyNanos - longLatency) * LONG_SMOOTHING;
+            if (longLatency > shortLatency * 2) {
+                // Load has dropped well below what the baseline saw; let the baseline catch up quickly.
+                longLatency = (longLatency + shortLatency) / 2;
+            }
+        }
+        if (inFlight < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longLatency / shortLatency));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - LIMIT_SMOOTHING) + target * LIMIT_SMOOTHING));
+    }
+
+    public final class Permit {
+
+        private final long startedAt = System.nanoTime();
+        private boolean released;
+
+        private Permit() {
+        }
+
+        public void release() {
+            long latency = System.nanoTime() - startedAt;
+            lock.lock();
+            try {
+                if (released) {
+                    return;
+                }
+                released = true;
+                int before = limit();
+                onSample(latency, inFlight);
+                inFlight--;
+                if (limit() > before) {
+                    slotFreed.signalAll();
+                } else {
+                    slotFreed.signal();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.department.admission;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a handler method, or every method of a controller, into a {@link TrafficClass} other than the
+ * one its HTTP method implies.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface Admission {
+
+    TrafficClass value();
+}
@@ -0,0 +1,59 @@
+package com.example.department.admission;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * One limiter per {@link TrafficClass}, applied to {@code /api/**}. Limits, queue sizes and shed counts
+ * are published as {@code department.admission.*} meters tagged with the class.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "department.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionConfig implements WebMvcConfigurer {
+
+    private final AdmissionControlInterceptor interceptor;
+
+    public AdmissionConfig(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        Map<TrafficClass, AdaptiveConcurrencyLimiter> limiters = new EnumMap<>(TrafficClass.class);
+        for (TrafficClass trafficClass : TrafficClass.values()) {
+            String name = trafficClass.name().toLowerCase(Locale.ROOT);
+            AdaptiveConcurrencyLimiter limiter =
+                    new AdaptiveConcurrencyLimiter(name, properties.limit(trafficClass), properties.tolerance());
+            Gauge.builder("department.admission.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("class", name)
+                    .register(meterRegistry);
+            Gauge.builder("department.admission.in.flight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                    .tag("class", name)
+                    .register(meterRegistry);
+            Gauge.builder("department.admission.queued", limiter, AdaptiveConcurrencyLimiter::queued)
+                    .tag("class", name)
+                    .register(meterRegistry);
+            FunctionCounter.builder("department.admission.shed", limiter, AdaptiveConcurrencyLimiter::shedQueueFull)
+                    .description("Requests rejected by admission control")
+                    .tags("class", name, "reason", "queue-full")
+                    .register(meterRegistry);
+            FunctionCounter.builder("department.admission.shed", limiter, AdaptiveConcurrencyLimiter::shedTimeout)
+                    .description("Requests rejected by admission control")
+                    .tags("class", name, "reason", "timeout")
+                    .register(meterRegistry);
+            limiters.put(trafficClass, limiter);
+        }
+        this.interceptor = new AdmissionControlInterceptor(limiters);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor).addPathPatterns("/api/**");
+    }
+}
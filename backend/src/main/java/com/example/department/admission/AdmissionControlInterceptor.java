@@ -0,0 +1,63 @@
+package com.example.department.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Admits each API request through the {@link AdaptiveConcurrencyLimiter} of its {@link TrafficClass}, so
+ * a flood in one class is shed there and cannot use up the threads and connections of the others.
+ * Rejections are thrown before the handler runs and rendered by {@code RestExceptionHandler}.
+ */
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = AdmissionControlInterceptor.class.getName() + ".permit";
+
+    private final Map<TrafficClass, AdaptiveConcurrencyLimiter> limiters;
+    private final Map<Method, Optional<TrafficClass>> annotated = new ConcurrentHashMap<>();
+
+    public AdmissionControlInterceptor(Map<TrafficClass, AdaptiveConcurrencyLimiter> limiters) {
+        this.limiters = limiters;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        AdaptiveConcurrencyLimiter limiter = limiters.get(classify(method, request.getMethod()));
+        request.setAttribute(PERMIT_ATTRIBUTE, limiter.acquire());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof AdaptiveConcurrencyLimiter.Permit permit) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permit.release();
+        }
+    }
+
+    TrafficClass classify(HandlerMethod method, String httpMethod) {
+        return annotated.computeIfAbsent(method.getMethod(), ignored -> annotatedClass(method))
+                .orElse(HttpMethod.GET.matches(httpMethod) || HttpMethod.HEAD.matches(httpMethod)
+                        ? TrafficClass.READ
+                        : TrafficClass.WRITE);
+    }
+
+    private static Optional<TrafficClass> annotatedClass(HandlerMethod method) {
+        Admission admission = AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), Admission.class);
+        if (admission == null) {
+            admission = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), Admission.class);
+        }
+        return Optional.ofNullable(admission).map(Admission::value);
+    }
+}
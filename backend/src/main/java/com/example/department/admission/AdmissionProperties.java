@@ -0,0 +1,32 @@
+package com.example.department.admission;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "department.admission")
+public record AdmissionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1.5") double tolerance,
+        @DefaultValue Limit read,
+        @DefaultValue Limit search,
+        @DefaultValue Limit write
+) {
+
+    public Limit limit(TrafficClass trafficClass) {
+        return switch (trafficClass) {
+            case READ -> read;
+            case SEARCH -> search;
+            case WRITE -> write;
+        };
+    }
+
+    public record Limit(
+            @DefaultValue("20") int initialLimit,
+            @DefaultValue("2") int minLimit,
+            @DefaultValue("200") int maxLimit,
+            @DefaultValue("50") int queueCapacity,
+            @DefaultValue("500ms") Duration maxQueueWait
+    ) {
+    }
+}
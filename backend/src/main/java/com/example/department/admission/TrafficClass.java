@@ -0,0 +1,11 @@
+package com.example.department.admission;
+
+/** Bulkheads for REST traffic; each class gets its own concurrency limit and queue. */
+public enum TrafficClass {
+    /** Point reads by id: short, index-backed. Default for GET. */
+    READ,
+    /** Searches, subtree scans and analytics that can hold a connection for a long time. */
+    SEARCH,
+    /** Anything that changes state. Default for every method other than GET and HEAD. */
+    WRITE
+}
@@ -0,0 +1,270 @@
+package com.example.department.analytics;
+
+import com.example.department.domain.EmploymentStatus;
+import com.example.department.dto.BudgetAnalyticsResponse;
+import com.example.department.dto.BudgetAnalyticsResponse.DepartmentBudgetRank;
+import com.example.department.dto.BudgetAnalyticsResponse.LocationBreakdown;
+import com.example.department.dto.BudgetAnalyticsResponse.StatusBreakdown;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Budget and headcount breakdowns computed outside the entity graph. Departments are loaded once into
+ * primitive columns (budgets as long cents); employee rows are streamed as (department index, status
+ * ordinal) pairs in fixed-size chunks, and each full chunk is counted on a fork-join pool while the next
+ * one is being read. Workers count into per-thread arrays that are summed at the end, so the hot path
+ * neither allocates nor touches BigDecimal.
+ */
+@Component
+public class BudgetAnalyticsEngine implements DisposableBean {
+
+    private static final EmploymentStatus[] STATUSES = EmploymentStatus.values();
+    private static final String EMPLOYEE_ROWS = employeeRowsQuery();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+    private final ForkJoinPool pool;
+
+    public BudgetAnalyticsEngine(
+            DataSource dataSource,
+            @Value("${department.analytics.chunk-size:65536}") int chunkSize,
+            @Value("${department.analytics.parallelism:0}") int parallelism) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(chunkSize);
+        this.chunkSize = chunkSize;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Transactional(readOnly = true)
+    public BudgetAnalyticsResponse compute(int rankingLimit) {
+        Departments departments = loadDepartments();
+        int[] counts = countEmployees(departments);
+        return summarize(departments, counts, rankingLimit);
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdown();
+    }
+
+    private Departments loadDepartments() {
+        Departments departments = new Departments();
+        Map<String, Integer> locationIndex = new HashMap<>();
+        jdbcTemplate.query("select id, code, name, location, annual_budget from departments order by id", rs -> {
+            int location = locationIndex.computeIfAbsent(rs.getString(4), name -> {
+                departments.locations.add(name);
+                return departments.locations.size() - 1;
+            });
+            BigDecimal budget = rs.getBigDecimal(5);
+            departments.add(rs.getLong(1), rs.getString(2), rs.getString(3), location,
+                    budget == null ? 0 : budget.movePointRight(2).longValue());
+        });
+        return departments;
+    }
+
+    // counts[department * STATUSES.length + status]
+    private int[] countEmployees(Departments departments) {
+        int width = departments.size * STATUSES.length;
+        Map<Thread, int[]> perThread = new ConcurrentHashMap<>();
+        List<ForkJoinTask<?>> pending = new ArrayList<>();
+        int[][] chunk = {new int[chunkSize], new int[chunkSize]};
+        int[] filled = {0};
+        jdbcTemplate.query(EMPLOYEE_ROWS, rs -> {
+            int department = Arrays.binarySearch(departments.ids, 0, departments.size, rs.getLong(1));
+            if (department < 0) {
+                return;
+            }
+            chunk[0][filled[0]] = department;
+            chunk[1][filled[0]] = rs.getInt(2);
+            if (++filled[0] == chunkSize) {
+                pending.add(pool.submit(new CountTask(chunk[0], chunk[1], 0, chunkSize, width, perThread)));
+                chunk[0] = new int[chunkSize];
+                chunk[1] = new int[chunkSize];
+                filled[0] = 0;
+            }
+        });
+        if (filled[0] > 0) {
+            pending.add(pool.submit(new CountTask(chunk[0], chunk[1], 0, filled[0], width, perThread)));
+        }
+        pending.forEach(ForkJoinTask::join);
+        int[] counts = new int[width];
+        for (int[] partial : perThread.values()) {
+            for (int i = 0; i < width; i++) {
+                counts[i] += partial[i];
+            }
+        }
+        return counts;
+    }
+
+    private BudgetAnalyticsResponse summarize(Departments departments, int[] counts, int rankingLimit) {
+        int locationCount = departments.locations.size();
+        long[] locationDepartments = new long[locationCount];
+        long[] locationBudgetCents = new long[locationCount];
+        long[][] locationStatusCounts = new long[locationCount][STATUSES.length];
+        long[] statusCounts = new long[STATUSES.length];
+        long[] statusAllocatedCents = new long[STATUSES.length];
+        long[] headcounts = new long[departments.size];
+        long totalBudgetCents = 0;
+        long employeeCount = 0;
+
+        for (int department = 0; department < departments.size; department++) {
+            int location = departments.location[department];
+            long budgetCents = departments.budgetCents[department];
+            locationDepartments[location]++;
+            locationBudgetCents[location] += budgetCents;
+            totalBudgetCents += budgetCents;
+            long headcount = 0;
+            for (int status = 0; status < STATUSES.length; status++) {
+                headcount += counts[department * STATUSES.length + status];
+            }
+            headcounts[department] = headcount;
+            employeeCount += headcount;
+            for (int status = 0; status < STATUSES.length; status++) {
+                int count = counts[department * STATUSES.length + status];
+                locationStatusCounts[location][status] += count;
+                statusCounts[status] += count;
+                if (count > 0) {
+                    // Split to keep budgetCents * count from overflowing.
+                    statusAllocatedCents[status] += budgetCents / headcount * count
+                            + budgetCents % headcount * count / headcount;
+                }
+            }
+        }
+
+        List<LocationBreakdown> byLocation = new ArrayList<>(locationCount);
+        for (int location = 0; location < locationCount; location++) {
+            Map<EmploymentStatus, Long> byStatus = new EnumMap<>(EmploymentStatus.class);
+            long headcount = 0;
+            for (int status = 0; status < STATUSES.length; status++) {
+                byStatus.put(STATUSES[status], locationStatusCounts[location][status]);
+                headcount += locationStatusCounts[location][status];
+            }
+            byLocation.add(new LocationBreakdown(departments.locations.get(location),
+                    locationDepartments[location], headcount, cents(locationBudgetCents[location]), byStatus));
+        }
+        byLocation.sort(Comparator.comparing(LocationBreakdown::budget).reversed());
+
+        List<StatusBreakdown> byStatus = new ArrayList<>(STATUSES.length);
+        for (int status = 0; status < STATUSES.length; status++) {
+            byStatus.add(new StatusBreakdown(STATUSES[status], statusCounts[status], cents(statusAllocatedCents[status])));
+        }
+
+        return new BudgetAnalyticsResponse(departments.size, employeeCount, cents(totalBudgetCents),
+                byLocation, byStatus, rank(departments, headcounts, rankingLimit));
+    }
+
+    private List<DepartmentBudgetRank> rank(Departments departments, long[] headcounts, int limit) {
+        long[] perEmployeeCents = new long[departments.size];
+        List<Integer> staffed = new ArrayList<>();
+        for (int department = 0; department < departments.size; department++) {
+            if (headcounts[department] > 0) {
+                perEmployeeCents[department] = departments.budgetCents[department] / headcounts[department];
+                staffed.add(department);
+            }
+        }
+        return staffed.stream()
+                .sorted(Comparator.comparingLong((Integer department) -> perEmployeeCents[department]).reversed())
+                .limit(limit)
+                .map(department -> new DepartmentBudgetRank(
+                        departments.ids[department],
+                        departments.codes[department],
+                        departments.names[department],
+                        departments.locations.get(departments.location[department]),
+                        headcounts[department],
+                        cents(departments.budgetCents[department]),
+                        cents(perEmployeeCents[department])))
+                .toList();
+    }
+
+    private static BigDecimal cents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static String employeeRowsQuery() {
+        StringBuilder status = new StringBuilder("case status");
+        for (EmploymentStatus value : STATUSES) {
+            status.append(" when '").append(value.name()).append("' then ").append(value.ordinal());
+        }
+        status.append(" end");
+        return "select department_id, " + status + " from employees where department_id is not null";
+    }
+
+    private static final class Departments {
+
+        int size;
+        long[] ids = new long[1024];
+        String[] codes = new String[1024];
+        String[] names = new String[1024];
+        int[] location = new int[1024];
+        long[] budgetCents = new long[1024];
+        final List<String> locations = new ArrayList<>();
+
+        void add(long id, String code, String name, int locationIndex, long cents) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                codes = Arrays.copyOf(codes, capacity);
+                names = Arrays.copyOf(names, capacity);
+                location = Arrays.copyOf(location, capacity);
+                budgetCents = Arrays.copyOf(budgetCents, capacity);
+            }
+            ids[size] = id;
+            codes[size] = code;
+            names[size] = name;
+            location[size] = locationIndex;
+            budgetCents[size] = cents;
+            size++;
+        }
+    }
+
+    private static final class CountTask extends RecursiveAction {
+
+        private static final int LEAF_SIZE = 8192;
+
+        private final int[] departments;
+        private final int[] statuses;
+        private final int from;
+        private final int to;
+        private final int width;
+        private final Map<Thread, int[]> perThread;
+
+        CountTask(int[] departments, int[] statuses, int from, int to, int width, Map<Thread, int[]> perThread) {
+            this.departments = departments;
+            this.statuses = statuses;
+            this.from = from;
+            this.to = to;
+            this.width = width;
+            this.perThread = perThread;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                int[] counts = perThread.computeIfAbsent(Thread.currentThread(), thread -> new int[width]);
+                for (int i = from; i < to; i++) {
+                    counts[departments[i] * STATUSES.length + statuses[i]]++;
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new CountTask(departments, statuses, from, middle, width, perThread),
+                    new CountTask(departments, statuses, middle, to, width, perThread));
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.department.analytics;
+
+import com.example.department.dto.HeadcountTimeSeriesResponse;
+import com.example.department.dto.HeadcountTimeSeriesResponse.DepartmentSeries;
+import com.example.department.dto.HeadcountTimeSeriesResponse.Granularity;
+import com.example.department.exception.ResourceNotFoundException;
+import com.example.department.service.DepartmentChangedEvent;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Headcount per department per month, quarter or year, computed in one sweep. Every employee (live or
+ * archived) with a start date contributes a +1 event on that date and, once it has passed, a -1 event
+ * on its end date. The events are streamed from the database in date order and applied to a running
+ * count per department, which is copied into the series each time the sweep crosses a period's as-of
+ * date (its last day, or today for the current period).
+ *
+ * <p>Series always cover {@code department.analytics.headcount.max-years} and are cached per
+ * department and granularity until the department's employees change or the day rolls over; shorter
+ * requests are served by slicing. Employees without a start date cannot be placed and are left out.
+ */
+@Component
+public class HeadcountTimeSeries {
+
+    private static final String DEPARTMENT_EVENTS = eventsQuery("department_id = ?");
+    private static final String ALL_EVENTS = eventsQuery("department_id is not null");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxYears;
+    private final Clock clock;
+    private final ConcurrentMap<Key, Series> cache = new ConcurrentHashMap<>();
+    // Bumped on every invalidation so a sweep that raced with one does not cache what it read.
+    private final AtomicLong generation = new AtomicLong();
+
+    @Autowired
+    public HeadcountTimeSeries(
+            DataSource dataSource,
+            @Value("${department.analytics.headcount.max-years:10}") int maxYears) {
+        this(dataSource, maxYears, Clock.systemDefaultZone());
+    }
+
+    HeadcountTimeSeries(DataSource dataSource, int maxYears, Clock clock) {
+        if (maxYears < 1) {
+            throw new IllegalArgumentException("department.analytics.headcount.max-years must be at least 1");
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(10_000);
+        this.maxYears = maxYears;
+        this.clock = clock;
+    }
+
+    /**
+     * The last {@code years} (clamped to 1..max-years) of headcount for one department, or for every
+     * department when {@code departmentId} is {@code null}.
+     */
+    @Transactional(readOnly = true)
+    public HeadcountTimeSeriesResponse compute(Long departmentId, Granularity granularity, int years) {
+        Window window = new Window(granularity, LocalDate.now(clock), maxYears * granularity.periodsPerYear());
+        List<Series> series = departmentId == null ? allDepartments(window) : List.of(department(departmentId, window));
+        int span = Math.max(1, Math.min(maxYears, years)) * granularity.periodsPerYear();
+        int from = window.size() - span;
+        List<DepartmentSeries> departments = new ArrayList<>(series.size());
+        for (Series entry : series) {
+            departments.add(new DepartmentSeries(entry.departmentId(), entry.code(),
+                    Arrays.copyOfRange(entry.headcount(), from, window.size())));
+        }
+        return new HeadcountTimeSeriesResponse(granularity, window.today,
+                Arrays.asList(window.periodStarts).subList(from, window.size()), departments);
+    }
+
+    @TransactionalEventListener
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        generation.incrementAndGet();
+        if (event.change() == DepartmentChangedEvent.Change.CATALOG_SYNCED) {
+            cache.clear();
+            return;
+        }
+        for (Granularity granularity : Granularity.values()) {
+            cache.remove(new Key(event.departmentId(), granularity));
+        }
+    }
+
+    int cachedSeries() {
+        return cache.size();
+    }
+
+    private Series department(Long departmentId, Window window) {
+        Series cached = cached(departmentId, window);
+        if (cached != null) {
+            return cached;
+        }
+        long observed = generation.get();
+        String code = jdbcTemplate.query("select code from departments where id = ?",
+                        (rs, row) -> rs.getString(1), departmentId).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found: " + departmentId));
+        Series[] swept = sweep(window, new long[] {departmentId}, new String[] {code}, DEPARTMENT_EVENTS,
+                window.eventArguments(departmentId));
+        store(swept, window, observed);
+        return swept[0];
+    }
+
+    private List<Series> allDepartments(Window window) {
+        long observed = generation.get();
+        List<Long> ids = new ArrayList<>();
+        List<String> codes = new ArrayList<>();
+        jdbcTemplate.query("select id, code from departments order by id", rs -> {
+            ids.add(rs.getLong(1));
+            codes.add(rs.getString(2));
+        });
+        List<Series> result = new ArrayList<>(ids.size());
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Series cached = cached(ids.get(i), window);
+            result.add(cached);
+            if (cached == null) {
+                missing.add(i);
+            }
+        }
+        if (missing.size() == 1) {
+            int index = missing.get(0);
+            result.set(index, department(ids.get(index), window));
+        } else if (!missing.isEmpty()) {
+            // Several gaps: one sweep over everything is cheaper than one sweep per department.
+            long[] allIds = ids.stream().mapToLong(Long::longValue).toArray();
+            Series[] swept = sweep(window, allIds, codes.toArray(String[]::new), ALL_EVENTS,
+                    window.eventArguments(null));
+            store(swept, window, observed);
+            result = Arrays.asList(swept);
+        }
+        return result;
+    }
+
+    // ids must be sorted ascending.
+    private Series[] sweep(Window window, long[] ids, String[] codes, String sql, Object[] arguments) {
+        int periods = window.size();
+        int[] running = new int[ids.length];
+        int[][] headcount = new int[ids.length][periods];
+        int[] period = {0};
+        jdbcTemplate.query(sql, rs -> {
+            int department = Arrays.binarySearch(ids, rs.getLong(1));
+            if (department < 0) {
+                return;
+            }
+            long day = rs.getObject(2, LocalDate.class).toEpochDay();
+            // A start counts on its own day; an end only from the day after.
+            boolean start = rs.getInt(3) > 0;
+            while (period[0] < periods
+                    && (start ? window.asOfDays[period[0]] < day : window.asOfDays[period[0]] <= day)) {
+                copy(running, headcount, period[0]++);
+            }
+            running[department] += start ? 1 : -1;
+        }, arguments);
+        while (period[0] < periods) {
+            copy(running, headcount, period[0]++);
+        }
+        Series[] series = new Series[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            series[i] = new Series(ids[i], codes[i], window.today, headcount[i]);
+        }
+        return series;
+    }
+
+    private static void copy(int[] running, int[][] headcount, int period) {
+        for (int department = 0; department < running.length; department++) {
+            headcount[department][period] = running[department];
+        }
+    }
+
+    private Series cached(Long departmentId, Window window) {
+        Series cached = cache.get(new Key(departmentId, window.granularity));
+        return cached != null && cached.asOf().equals(window.today) ? cached : null;
+    }
+
+    private void store(Series[] series, Window window, long observed) {
+        for (Series entry : series) {
+            cache.put(new Key(entry.departmentId(), window.granularity), entry);
+        }
+        if (generation.get() != observed) {
+            // Invalidated while sweeping; what was read may predate the change.
+            for (Series entry : series) {
+                cache.remove(new Key(entry.departmentId(), window.granularity), entry);
+            }
+        }
+    }
+
+    private static String eventsQuery(String departmentFilter) {
+        StringBuilder sql = new StringBuilder();
+        for (String table : List.of("employees", "employees_archive")) {
+            if (!sql.isEmpty()) {
+                sql.append(" union all ");
+            }
+            sql.append("select department_id, start_date as event_date, 1 as delta from ").append(table)
+                    .append(" where ").append(departmentFilter).append(" and start_date <= ?")
+                    .append(" union all select department_id, end_date, -1 from ").append(table)
+                    .append(" where ").append(departmentFilter).append(" and start_date <= ? and end_date < ?");
+        }
+        // Starts before ends on the same day, so the sweep's as-of cut-offs only ever move forward.
+        return sql.append(" order by event_date, delta desc").toString();
+    }
+
+    private record Key(Long departmentId, Granularity granularity) {
+    }
+
+    private record Series(Long departmentId, String code, LocalDate asOf, int[] headcount) {
+    }
+
+    private static final class Window {
+
+        final Granularity granularity;
+        final LocalDate today;
+        final LocalDate[] periodStarts;
+        final long[] asOfDays;
+
+        Window(Granularity granularity, LocalDate today, int periods) {
+            this.granularity = granularity;
+            this.today = today;
+            this.periodStarts = new LocalDate[periods];
+            this.asOfDays = new long[periods];
+            LocalDate first = granularity.periodStart(today).minusMonths((long) (periods - 1) * granularity.months());
+            for (int i = 0; i < periods; i++) {
+                periodStarts[i] = first.plusMonths((long) i * granularity.months());
+                asOfDays[i] = i == periods - 1
+                        ? today.toEpochDay()
+                        : first.plusMonths((long) (i + 1) * granularity.months()).toEpochDay() - 1;
+            }
+        }
+
+        int size() {
+            return periodStarts.length;
+        }
+
+        // Matches the placeholders of eventsQuery: per table, starts then ends.
+        Object[] eventArguments(Long departmentId) {
+            List<Object> arguments = new ArrayList<>();
+            for (int table = 0; table < 2; table++) {
+                if (departmentId != null) {
+                    arguments.add(departmentId);
+                }
+                arguments.add(today);
+                if (departmentId != null) {
+                    arguments.add(departmentId);
+                }
+                arguments.add(today);
+                arguments.add(today);
+            }
+            return arguments.toArray();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.department.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile}) for every request and
+ * response body that is JSON today, chosen by {@code Accept} and {@code Content-Type}. Both are built from
+ * the application's Jackson builder, so properties, nulls and date formats match the JSON output.
+ *
+ * <p>These beans replace the converters Spring MVC would register on its own for the same formats,
+ * which ignore {@code spring.jackson.*}. They keep their place after the JSON converter, so requests
+ * without an {@code Accept} header, or with {@code *}{@code /*}, still get JSON.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "department.binary-formats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class BinaryFormatsConfig {
+
+    @Bean
+    MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -3,50 +3,75 @@ package com.example.department.config;
 import com.example.department.domain.EmploymentStatus;
 import com.example.department.dto.DepartmentRequest;
 import com.example.department.dto.EmployeeRequest;
+import com.example.department.repository.DepartmentRepository;
 import com.example.department.service.DepartmentService;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Configuration
 public class DataInitializer {
 
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+
     @Bean
-    CommandLineRunner seedData(DepartmentService departmentService) {
+    CommandLineRunner seedData(
+            DepartmentService departmentService,
+            DepartmentRepository departmentRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${department.seed.async:false}") boolean async) {
         return args -> {
-            if (!departmentService.listDepartments(null).isEmpty()) {
-                return;
+            Runnable seed = () -> {
+                if (departmentRepository.count() > 0) {
+                    return;
+                }
+                seed(departmentService, transactionTemplate);
+                log.info("Seeded sample departments");
+            };
+            if (async) {
+                Thread seeder = new Thread(seed, "seed-data");
+                seeder.setDaemon(true);
+                seeder.start();
+            } else {
+                seed.run();
             }
+        };
+    }
 
-            DepartmentRequest engineering = new DepartmentRequest(
-                    "Engineering",
-                    "ENG",
-                    "Responsible for product development and innovation.",
-                    "New York",
-                    "Ada Lovelace",
-                    new BigDecimal("2500000"));
+    // One transaction per department keeps each unit of seed work on a single department.
+    private void seed(DepartmentService departmentService, TransactionTemplate transactionTemplate) {
+        DepartmentRequest engineering = new DepartmentRequest(
+                "Engineering",
+                "ENG",
+                "Responsible for product development and innovation.",
+                "New York",
+                "Ada Lovelace",
+                new BigDecimal("2500000"));
 
-            DepartmentRequest hr = new DepartmentRequest(
-                    "Human Resources",
-                    "HR",
-                    "Manages recruitment, onboarding, and employee wellbeing.",
-                    "Remote",
-                    "Mary Parker",
-                    new BigDecimal("750000"));
+        DepartmentRequest hr = new DepartmentRequest(
+                "Human Resources",
+                "HR",
+                "Manages recruitment, onboarding, and employee wellbeing.",
+                "Remote",
+                "Mary Parker",
+                new BigDecimal("750000"));
 
-            DepartmentRequest finance = new DepartmentRequest(
-                    "Finance",
-                    "FIN",
-                    "Oversees budgeting, forecasting, and compliance.",
-                    "Chicago",
-                    "Alan Turing",
-                    new BigDecimal("1500000"));
+        DepartmentRequest finance = new DepartmentRequest(
+                "Finance",
+                "FIN",
+                "Oversees budgeting, forecasting, and compliance.",
+                "Chicago",
+                "Alan Turing",
+                new BigDecimal("1500000"));
 
+        transactionTemplate.executeWithoutResult(status -> {
             Long engineeringId = departmentService.createDepartment(engineering).id();
-            Long hrId = departmentService.createDepartment(hr).id();
-            Long financeId = departmentService.createDepartment(finance).id();
 
             departmentService.addEmployee(engineeringId, new EmployeeRequest(
                     "Grace",
@@ -65,6 +90,10 @@ public class DataInitializer {
                     EmploymentStatus.ON_LEAVE,
                     LocalDate.of(2018, 11, 4),
                     null));
+        });
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Long hrId = departmentService.createDepartment(hr).id();
 
             departmentService.addEmployee(hrId, new EmployeeRequest(
                     "Patricia",
@@ -74,6 +103,10 @@ public class DataInitializer {
                     EmploymentStatus.ACTIVE,
                     LocalDate.of(2020, 1, 15),
                     null));
+        });
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Long financeId = departmentService.createDepartment(finance).id();
 
             departmentService.addEmployee(financeId, new EmployeeRequest(
                     "Noah",
@@ -83,6 +116,6 @@ public class DataInitializer {
                     EmploymentStatus.ACTIVE,
                     LocalDate.of(2019, 7, 1),
                     null));
-        };
+        });
     }
 }
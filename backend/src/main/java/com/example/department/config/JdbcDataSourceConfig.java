@@ -0,0 +1,26 @@
+package com.example.department.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The JDBC pool behind JPA, built from {@code spring.datasource.*}. Spring Boot stops auto-configuring
+ * it as soon as an R2DBC {@code ConnectionFactory} exists, which the reactive API brings along, so it is
+ * declared here instead. The replica and sharded setups declare their own.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("!${department.datasource.replica.enabled:false} and !${department.sharding.enabled:false}")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class JdbcDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.department.config;
+
+import com.example.department.domain.ArchivedEmployee;
+import com.example.department.domain.Department;
+import com.example.department.domain.DepartmentClosure;
+import com.example.department.domain.DepartmentJob;
+import com.example.department.domain.Employee;
+import com.example.department.domain.IdempotencyRecord;
+import com.example.department.dto.ArchivedEmployeeResponse;
+import com.example.department.dto.BudgetAnalyticsResponse;
+import com.example.department.dto.DepartmentBulkRequest;
+import com.example.department.dto.DepartmentBulkResponse;
+import com.example.department.dto.DepartmentDetailResponse;
+import com.example.department.dto.DepartmentMovesRequest;
+import com.example.department.dto.DepartmentRequest;
+import com.example.department.dto.DepartmentRollupResponse;
+import com.example.department.dto.DepartmentSummaryResponse;
+import com.example.department.dto.EmployeeRequest;
+import com.example.department.dto.EmployeeResponse;
+import com.example.department.dto.HeadcountTimeSeriesResponse;
+import com.example.department.dto.JobResponse;
+import com.example.department.dto.SnapshotResponse;
+import com.example.department.dto.SubtreeDeleteRequest;
+import com.example.department.web.RestExceptionHandler;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHints.class)
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> entity : new Class<?>[] {
+                Department.class, Employee.class, DepartmentClosure.class, DepartmentJob.class, IdempotencyRecord.class,
+                ArchivedEmployee.class}) {
+            hints.reflection().registerType(entity,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                ArchivedEmployeeResponse.class,
+                BudgetAnalyticsResponse.class,
+                DepartmentBulkRequest.class,
+                DepartmentBulkResponse.class,
+                DepartmentRequest.class,
+                DepartmentDetailResponse.class,
+                DepartmentMovesRequest.class,
+                DepartmentSummaryResponse.class,
+                DepartmentRollupResponse.class,
+                EmployeeRequest.class,
+                EmployeeResponse.class,
+                HeadcountTimeSeriesResponse.class,
+                JobResponse.class,
+                SnapshotResponse.class,
+                SubtreeDeleteRequest.class);
+        // Summaries and rollups are built with JPQL constructor expressions.
+        hints.reflection().registerType(DepartmentSummaryResponse.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(DepartmentRollupResponse.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(RestExceptionHandler.class, MemberCategory.INVOKE_DECLARED_METHODS);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.department.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * A terminated employee moved out of {@code employees} once past the retention window. Rows keep their
+ * original id and are written by an insert-select, never through this entity. The department is a plain
+ * id rather than a foreign key so history survives the department being deleted; the email is not unique
+ * because a rehired person gets a new live row with the same address.
+ */
+@Entity
+@Table(
+        name = "employees_archive",
+        indexes = @Index(name = "idx_employees_archive_department_end_date", columnList = "department_id, end_date")
+)
+public class ArchivedEmployee {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false, length = 60)
+    private String firstName;
+
+    @Column(nullable = false, length = 60)
+    private String lastName;
+
+    @Column(nullable = false, length = 120)
+    private String email;
+
+    @Column(length = 80)
+    private String jobTitle;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EmploymentStatus status;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    @Column(name = "department_id")
+    private Long departmentId;
+
+    @Column(nullable = false)
+    private OffsetDateTime archivedAt;
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getJobTitle() {
+        return jobTitle;
+    }
+
+    public EmploymentStatus getStatus() {
+        return status;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public OffsetDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
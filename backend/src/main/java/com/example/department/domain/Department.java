@@ -7,6 +7,8 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
@@ -50,6 +52,17 @@ public class Department {
 
     private OffsetDateTime updatedAt;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "parent_id")
+    private Department parent;
+
+    // Subtree rollups are maintained by DepartmentClosureRepository.adjustRollups, never by entity updates.
+    @Column(nullable = false, updatable = false)
+    private long subtreeHeadcount;
+
+    @Column(nullable = false, updatable = false, precision = 17, scale = 2)
+    private BigDecimal subtreeBudget = BigDecimal.ZERO;
+
     @OneToMany(
             mappedBy = "department",
             cascade = CascadeType.ALL,
@@ -154,6 +167,30 @@ public class Department {
         this.updatedAt = updatedAt;
     }
 
+    public Department getParent() {
+        return parent;
+    }
+
+    public void setParent(Department parent) {
+        this.parent = parent;
+    }
+
+    public long getSubtreeHeadcount() {
+        return subtreeHeadcount;
+    }
+
+    public void setSubtreeHeadcount(long subtreeHeadcount) {
+        this.subtreeHeadcount = subtreeHeadcount;
+    }
+
+    public BigDecimal getSubtreeBudget() {
+        return subtreeBudget;
+    }
+
+    public void setSubtreeBudget(BigDecimal subtreeBudget) {
+        this.subtreeBudget = subtreeBudget;
+    }
+
     public List<Employee> getEmployees() {
         return employees;
     }
@@ -3,5 +3,6 @@ package com.example.department.domain;
 public enum EmploymentStatus {
     ACTIVE,
     ON_LEAVE,
-    INACTIVE
+    INACTIVE,
+    TERMINATED
 }
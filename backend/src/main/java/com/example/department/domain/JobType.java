@@ -0,0 +1,7 @@
+package com.example.department.domain;
+
+public enum JobType {
+    DEPARTMENT_IMPORT,
+    DEPARTMENT_MOVES,
+    SUBTREE_DELETE
+}
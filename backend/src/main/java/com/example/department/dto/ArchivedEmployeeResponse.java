@@ -0,0 +1,19 @@
+package com.example.department.dto;
+
+import com.example.department.domain.EmploymentStatus;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+public record ArchivedEmployeeResponse(
+        Long id,
+        String firstName,
+        String lastName,
+        String email,
+        String jobTitle,
+        EmploymentStatus status,
+        LocalDate startDate,
+        LocalDate endDate,
+        Long departmentId,
+        OffsetDateTime archivedAt
+) {
+}
@@ -0,0 +1,47 @@
+package com.example.department.dto;
+
+import com.example.department.domain.EmploymentStatus;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+public record BudgetAnalyticsResponse(
+        long departmentCount,
+        long employeeCount,
+        BigDecimal totalBudget,
+        List<LocationBreakdown> byLocation,
+        List<StatusBreakdown> byStatus,
+        List<DepartmentBudgetRank> budgetPerEmployee
+) {
+
+    public record LocationBreakdown(
+            String location,
+            long departmentCount,
+            long headcount,
+            BigDecimal budget,
+            Map<EmploymentStatus, Long> headcountByStatus
+    ) {
+    }
+
+    /**
+     * {@code allocatedBudget} spreads each department's budget evenly over its employees and sums the
+     * shares of employees with this status.
+     */
+    public record StatusBreakdown(
+            EmploymentStatus status,
+            long headcount,
+            BigDecimal allocatedBudget
+    ) {
+    }
+
+    public record DepartmentBudgetRank(
+            Long departmentId,
+            String code,
+            String name,
+            String location,
+            long headcount,
+            BigDecimal budget,
+            BigDecimal budgetPerEmployee
+    ) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.department.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+public record DepartmentBulkRequest(
+        @NotNull(message = "Departments are required")
+        List<@Valid DepartmentRequest> departments
+) {
+}
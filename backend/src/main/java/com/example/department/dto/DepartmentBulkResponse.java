@@ -0,0 +1,8 @@
+package com.example.department.dto;
+
+public record DepartmentBulkResponse(
+        int inserted,
+        int updated,
+        int unchanged
+) {
+}
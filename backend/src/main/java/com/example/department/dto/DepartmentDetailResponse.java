@@ -8,6 +8,7 @@ public record DepartmentDetailResponse(
         Long id,
         String name,
         String code,
+        Long parentId,
         String description,
         String location,
         String head,
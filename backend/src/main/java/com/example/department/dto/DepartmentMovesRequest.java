@@ -0,0 +1,20 @@
+package com.example.department.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+
+public record DepartmentMovesRequest(
+        @NotNull(message = "Moves are required")
+        List<@Valid Move> moves
+) {
+
+    /** Moves {@code departmentId} with its subtree under {@code parentId}, or to the top level when it is null. */
+    public record Move(
+            @NotNull(message = "Department id is required")
+            Long departmentId,
+
+            Long parentId
+    ) {
+    }
+}
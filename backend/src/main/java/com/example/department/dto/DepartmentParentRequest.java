@@ -0,0 +1,7 @@
+package com.example.department.dto;
+
+/** The new parent of a department, or {@code null} to move it to the top level. */
+public record DepartmentParentRequest(
+        Long parentId
+) {
+}
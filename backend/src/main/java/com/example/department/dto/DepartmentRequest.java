@@ -24,6 +24,13 @@ public record DepartmentRequest(
         String head,
 
         @DecimalMin(value = "0.0", inclusive = false, message = "Budget must be greater than zero")
-        BigDecimal annualBudget
+        BigDecimal annualBudget,
+
+        Long parentId
 ) {
+
+    public DepartmentRequest(
+            String name, String code, String description, String location, String head, BigDecimal annualBudget) {
+        this(name, code, description, location, head, annualBudget, null);
+    }
 }
@@ -0,0 +1,11 @@
+package com.example.department.dto;
+
+import java.math.BigDecimal;
+
+public record DepartmentRollupResponse(
+        Long departmentId,
+        long descendantCount,
+        long subtreeHeadcount,
+        BigDecimal subtreeBudget
+) {
+}
@@ -0,0 +1,50 @@
+package com.example.department.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Headcount per department per period. {@code headcount[i]} of each series belongs to
+ * {@code periods.get(i)} and counts the employees employed on the last day of that period, or today
+ * for the current one.
+ */
+public record HeadcountTimeSeriesResponse(
+        Granularity granularity,
+        LocalDate asOf,
+        List<LocalDate> periods,
+        List<DepartmentSeries> departments
+) {
+
+    public enum Granularity {
+        MONTH(1),
+        QUARTER(3),
+        YEAR(12);
+
+        private final int months;
+
+        Granularity(int months) {
+            this.months = months;
+        }
+
+        public int months() {
+            return months;
+        }
+
+        public int periodsPerYear() {
+            return 12 / months;
+        }
+
+        /** First day of the period containing {@code date}. */
+        public LocalDate periodStart(LocalDate date) {
+            int month = (date.getMonthValue() - 1) / months * months + 1;
+            return LocalDate.of(date.getYear(), month, 1);
+        }
+    }
+
+    public record DepartmentSeries(
+            Long departmentId,
+            String code,
+            int[] headcount
+    ) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.department.dto;
+
+import com.example.department.domain.JobStatus;
+import com.example.department.domain.JobType;
+import java.time.OffsetDateTime;
+
+public record JobResponse(
+        Long id,
+        JobType type,
+        JobStatus status,
+        long totalItems,
+        long completedItems,
+        boolean cancelRequested,
+        String error,
+        OffsetDateTime createdAt,
+        OffsetDateTime updatedAt
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.department.dto;
+
+public record SnapshotResponse(
+        String path,
+        long departments,
+        long employees,
+        long archivedEmployees,
+        long bytes,
+        long elapsedMillis
+) {
+}
@@ -0,0 +1,9 @@
+package com.example.department.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public record SubtreeDeleteRequest(
+        @NotNull(message = "Department id is required")
+        Long departmentId
+) {
+}
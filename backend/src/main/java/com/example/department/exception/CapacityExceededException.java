@@ -0,0 +1,22 @@
+package com.example.department.exception;
+
+import java.time.Duration;
+
+public class CapacityExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public CapacityExceededException(String message) {
+        this(message, null);
+    }
+
+    public CapacityExceededException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /** How long the client should wait before retrying, or {@code null} when there is no estimate. */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
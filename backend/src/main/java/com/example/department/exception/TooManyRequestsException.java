@@ -0,0 +1,11 @@
+package com.example.department.exception;
+
+import java.time.Duration;
+
+/** Capacity was refused without waiting at all; answered with 429 rather than 503. */
+public class TooManyRequestsException extends CapacityExceededException {
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message, retryAfter);
+    }
+}
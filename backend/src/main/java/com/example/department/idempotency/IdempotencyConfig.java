@@ -0,0 +1,30 @@
+package com.example.department.idempotency;
+
+import com.example.department.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "department.idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    @Bean
+    IdempotencyStore idempotencyStore(
+            IdempotencyProperties properties, ObjectProvider<IdempotencyRecordRepository> repository) {
+        if (properties.store() == IdempotencyProperties.Store.DATABASE) {
+            return new JpaIdempotencyStore(repository.getObject(), properties.ttl());
+        }
+        return new InMemoryIdempotencyStore(properties.ttl(), properties.maxEntries());
+    }
+
+    @Bean
+    IdempotencyFilter idempotencyFilter(
+            IdempotencyStore store, IdempotencyProperties properties, ObjectMapper objectMapper) {
+        return new IdempotencyFilter(store, properties, objectMapper);
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.department.idempotency;
+
+import com.example.department.service.SingleFlight;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Makes POST requests carrying an {@value #HEADER} header safe to retry. The first request with a key
+ * runs normally and its response is stored unless it is a 5xx, 429 or 408, which a retry should not
+ * see again; later requests with the same key and path are answered from the store with
+ * {@value #REPLAYED_HEADER}: true, without reaching the controller. Duplicates arriving while the first is
+ * still running wait for it through {@link SingleFlight}; one still waiting after
+ * {@code department.idempotency.max-wait} gets 409 with {@code Retry-After} rather than running the request
+ * a second time, and so does one whose wait ends in a response that was not stored. Reusing a key with a
+ * different body is rejected with 422.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final IdempotencyStore store;
+    private final SingleFlight<String, StoredResponse> inFlight;
+    private final ObjectMapper objectMapper;
+
+    public IdempotencyFilter(IdempotencyStore store, IdempotencyProperties properties, ObjectMapper objectMapper) {
+        this.store = store;
+        this.inFlight = new SingleFlight<>(properties.maxWait());
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || !StringUtils.hasText(request.getHeader(HEADER));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(HEADER).trim();
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST,
+                    HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        // Keys are scoped to the path, so one key cannot replay another endpoint's response.
+        String key = request.getRequestURI() + " " + idempotencyKey;
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        String fingerprint = fingerprint(body);
+        HttpServletRequest replayable = new CachedBodyRequest(request, body);
+        ContentCachingResponseWrapper captured = new ContentCachingResponseWrapper(response);
+
+        boolean[] executed = {false};
+        StoredResponse result;
+        try {
+            result = inFlight.execute(key, () -> store.find(key).orElseGet(() -> {
+                executed[0] = true;
+                return process(key, fingerprint, replayable, captured, chain);
+            }), () -> {
+                throw new StillInProgress();
+            });
+        } catch (StillInProgress inProgress) {
+            retryLater(response, "A request with this " + HEADER + " is still in progress");
+            return;
+        } catch (ChainFailure failure) {
+            if (failure.getCause() instanceof ServletException servlet) {
+                throw servlet;
+            }
+            throw (IOException) failure.getCause();
+        }
+
+        if (executed[0]) {
+            captured.copyBodyToResponse();
+        } else if (!result.fingerprint().equals(fingerprint)) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER + " was already used with a different request body");
+        } else if (!isOutcome(result.status())) {
+            // Waited for a request that was not handled; nothing was stored, so there is nothing to replay.
+            retryLater(response, "The request with this " + HEADER + " was not completed; retry it");
+        } else {
+            replay(result, response);
+        }
+    }
+
+    private StoredResponse process(String key, String fingerprint, HttpServletRequest request,
+            ContentCachingResponseWrapper response, FilterChain chain) {
+        try {
+            chain.doFilter(request, response);
+        } catch (IOException | ServletException ex) {
+            throw new ChainFailure(ex);
+        }
+        StoredResponse stored = new StoredResponse(fingerprint, response.getStatus(), response.getContentType(),
+                response.getHeader(HttpHeaders.LOCATION), response.getContentAsByteArray());
+        if (isOutcome(stored.status())) {
+            store.save(key, stored);
+        }
+        return stored;
+    }
+
+    // 5xx, 429 and 408 say the request was not handled this time, so a retry has to run it again.
+    private static boolean isOutcome(int status) {
+        return status < 500
+                && status != HttpStatus.TOO_MANY_REQUESTS.value()
+                && status != HttpStatus.REQUEST_TIMEOUT.value();
+    }
+
+    private static void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, stored.location());
+        }
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    private void retryLater(HttpServletResponse response, String message) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER.toSeconds()));
+        writeError(response, HttpStatus.CONFLICT, message);
+    }
+
+    // Same shape as the bodies written by RestExceptionHandler.
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("timestamp", OffsetDateTime.now());
+        body.put("message", message);
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private static String fingerprint(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static final class ChainFailure extends RuntimeException {
+
+        ChainFailure(Exception cause) {
+            super(cause);
+        }
+    }
+
+    // The first request with the key has not finished within max-wait.
+    private static final class StillInProgress extends RuntimeException {
+
+        StillInProgress() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.department.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps at most {@code maxEntries} responses, each for {@code ttl}. Entries are held in insertion order,
+ * which is also expiry order, so both eviction rules only ever remove from the head.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Clock clock;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    public InMemoryIdempotencyStore(Duration ttl, int maxEntries) {
+        this(ttl, maxEntries, Clock.systemUTC());
+    }
+
+    InMemoryIdempotencyStore(Duration ttl, int maxEntries, Clock clock) {
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized Optional<StoredResponse> find(String key) {
+        evictExpired();
+        Entry entry = entries.get(key);
+        return entry == null ? Optional.empty() : Optional.of(entry.response());
+    }
+
+    @Override
+    public synchronized void save(String key, StoredResponse response) {
+        evictExpired();
+        entries.remove(key);
+        entries.put(key, new Entry(response, clock.instant().plus(ttl)));
+        Iterator<String> oldest = entries.keySet().iterator();
+        while (entries.size() > maxEntries) {
+            oldest.next();
+            oldest.remove();
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void evictExpired() {
+        Instant now = clock.instant();
+        Iterator<Map.Entry<String, Entry>> oldest = entries.entrySet().iterator();
+        while (oldest.hasNext() && !oldest.next().getValue().expiresAt().isAfter(now)) {
+            oldest.remove();
+        }
+    }
+
+    private record Entry(StoredResponse response, Instant expiresAt) {
+    }
+}
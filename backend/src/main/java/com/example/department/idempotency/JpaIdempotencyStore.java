@@ -0,0 +1,64 @@
+package com.example.department.idempotency;
+
+import com.example.department.domain.IdempotencyRecord;
+import com.example.department.repository.IdempotencyRecordRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps responses in the {@code idempotency_keys} table. Expired rows are ignored on lookup and purged
+ * in bulk at most once per {@link #PURGE_INTERVAL}, piggybacking on writes.
+ */
+public class JpaIdempotencyStore implements IdempotencyStore {
+
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(1);
+
+    private final IdempotencyRecordRepository repository;
+    private final Duration ttl;
+    private final Clock clock;
+    private volatile OffsetDateTime nextPurge = OffsetDateTime.MIN;
+
+    public JpaIdempotencyStore(IdempotencyRecordRepository repository, Duration ttl) {
+        this.repository = repository;
+        this.ttl = ttl;
+        this.clock = Clock.systemUTC();
+    }
+
+    // Read-write on purpose: with a replica configured, a lagging replica could miss a fresh key.
+    @Override
+    @Transactional
+    public Optional<StoredResponse> find(String key) {
+        OffsetDateTime cutoff = OffsetDateTime.now(clock).minus(ttl);
+        return repository.findById(key)
+                .filter(record -> record.getCreatedAt().isAfter(cutoff))
+                .map(record -> new StoredResponse(record.getFingerprint(), record.getStatus(),
+                        record.getContentType(), record.getLocation(), record.getBody()));
+    }
+
+    // Each repository call commits on its own, so a lost insert race does not roll back anything else.
+    @Override
+    public void save(String key, StoredResponse response) {
+        OffsetDateTime now = OffsetDateTime.now(clock);
+        if (now.isAfter(nextPurge)) {
+            nextPurge = now.plus(PURGE_INTERVAL);
+            repository.deleteCreatedBefore(now.minus(ttl));
+        }
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setKey(key);
+        record.setFingerprint(response.fingerprint());
+        record.setStatus(response.status());
+        record.setContentType(response.contentType());
+        record.setLocation(response.location());
+        record.setBody(response.body());
+        record.setCreatedAt(now);
+        try {
+            repository.saveAndFlush(record);
+        } catch (DataIntegrityViolationException ex) {
+            // Another instance stored the same key first; its response wins.
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.department.idempotency;
+
+/**
+ * A completed response kept for replay. {@code fingerprint} is a hash of the original request body, so a
+ * key reused with a different payload can be told apart from a retry.
+ */
+public record StoredResponse(
+        String fingerprint,
+        int status,
+        String contentType,
+        String location,
+        byte[] body
+) {
+}
@@ -0,0 +1,57 @@
+package com.example.department.job;
+
+import com.example.department.domain.JobType;
+import com.example.department.dto.DepartmentBulkRequest;
+import com.example.department.dto.DepartmentRequest;
+import com.example.department.exception.BusinessValidationException;
+import com.example.department.service.DepartmentBulkUpsertService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DepartmentImportJobHandler implements JobHandler<DepartmentBulkRequest> {
+
+    private final DepartmentBulkUpsertService bulkUpsertService;
+
+    public DepartmentImportJobHandler(DepartmentBulkUpsertService bulkUpsertService) {
+        this.bulkUpsertService = bulkUpsertService;
+    }
+
+    @Override
+    public JobType type() {
+        return JobType.DEPARTMENT_IMPORT;
+    }
+
+    @Override
+    public Class<DepartmentBulkRequest> payloadType() {
+        return DepartmentBulkRequest.class;
+    }
+
+    // Each chunk only sees its own rows, so duplicates across chunks are caught here instead.
+    @Override
+    public long prepare(DepartmentBulkRequest payload) {
+        Set<String> codes = new HashSet<>();
+        for (DepartmentRequest request : payload.departments()) {
+            String code = request.code().trim().toUpperCase();
+            if (!codes.add(code)) {
+                throw new BusinessValidationException("Department code appears more than once: " + code);
+            }
+        }
+        return payload.departments().size();
+    }
+
+    // Upserts are idempotent, so a chunk replayed after a crash just reports its rows as unchanged.
+    @Override
+    public int processChunk(DepartmentBulkRequest payload, long completedItems, int chunkSize) {
+        List<DepartmentRequest> departments = payload.departments();
+        int from = (int) completedItems;
+        int to = Math.min(from + chunkSize, departments.size());
+        if (from >= to) {
+            return 0;
+        }
+        bulkUpsertService.upsert(departments.subList(from, to));
+        return to - from;
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.department.job;
+
+import com.example.department.domain.DepartmentJob;
+import com.example.department.domain.JobStatus;
+import com.example.department.domain.JobType;
+import com.example.department.dto.JobResponse;
+import com.example.department.exception.BusinessValidationException;
+import com.example.department.exception.CapacityExceededException;
+import com.example.department.exception.ResourceNotFoundException;
+import com.example.department.repository.DepartmentJobRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.OffsetDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs {@link JobHandler}s on a fixed pool of worker threads, one transaction per chunk. Job state lives
+ * in the {@code department_jobs} table: jobs that were queued or running when the process stopped are
+ * picked up again at startup and continue after their last committed chunk. Cancellation is checked
+ * between chunks. Submissions are refused with 503 once {@code department.jobs.queue-capacity} jobs are
+ * waiting for a worker.
+ */
+@Service
+public class DepartmentJobService implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DepartmentJobService.class);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final DepartmentJobRepository jobRepository;
+    private final Map<JobType, JobHandler<?>> handlers = new EnumMap<>(JobType.class);
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final int chunkSize;
+
+    public DepartmentJobService(
+            DepartmentJobRepository jobRepository,
+            List<JobHandler<?>> handlers,
+            ObjectMapper objectMapper,
+            TransactionTemplate transactionTemplate,
+            @Value("${department.jobs.threads:2}") int threads,
+            @Value("${department.jobs.queue-capacity:100}") int queueCapacity,
+            @Value("${department.jobs.chunk-size:500}") int chunkSize) {
+        this.jobRepository = jobRepository;
+        handlers.forEach(handler -> this.handlers.put(handler.type(), handler));
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.queueCapacity = queueCapacity;
+        this.chunkSize = chunkSize;
+        AtomicInteger workerNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                task -> {
+                    Thread worker = new Thread(task, "department-job-" + workerNumber.incrementAndGet());
+                    worker.setDaemon(true);
+                    return worker;
+                });
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (DepartmentJob job : jobRepository.findByStatusInOrderById(List.of(JobStatus.QUEUED, JobStatus.RUNNING))) {
+            // RUNNING here means the previous process stopped mid-job.
+            jobRepository.requeue(job.getId(), List.of(JobStatus.RUNNING), OffsetDateTime.now());
+            log.info("Resuming {} job {} after {} of {} items",
+                    job.getType(), job.getId(), job.getCompletedItems(), job.getTotalItems());
+            Long id = job.getId();
+            executor.execute(() -> run(id));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    public <P> JobResponse submit(JobType type, P payload) {
+        ensureCapacity();
+        JobHandler<P> handler = handler(type);
+        DepartmentJob job = new DepartmentJob();
+        job.setType(type);
+        job.setTotalItems(handler.prepare(payload));
+        try {
+            job.setPayload(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Job payload cannot be serialized", ex);
+        }
+        job = jobRepository.save(job);
+        Long id = job.getId();
+        executor.execute(() -> run(id));
+        return toResponse(job);
+    }
+
+    public JobResponse getJob(Long id) {
+        return toResponse(getJobEntity(id));
+    }
+
+    public List<JobResponse> listJobs() {
+        return jobRepository.findTop50ByOrderByIdDesc().stream().map(this::toResponse).toList();
+    }
+
+    /** A queued job is cancelled at once; a running one stops at its next chunk boundary. */
+    public JobResponse cancel(Long id) {
+        getJobEntity(id);
+        OffsetDateTime now = OffsetDateTime.now();
+        if (jobRepository.transition(id, List.of(JobStatus.QUEUED), JobStatus.CANCELLED, now) == 0
+                && jobRepository.requestCancel(id, now) == 0) {
+            throw new BusinessValidationException("Job has already finished: " + id);
+        }
+        return getJob(id);
+    }
+
+    /** Runs a failed or cancelled job again, starting after its last committed chunk. */
+    public JobResponse restart(Long id) {
+        getJobEntity(id);
+        ensureCapacity();
+        if (jobRepository.requeue(id, List.of(JobStatus.FAILED, JobStatus.CANCELLED), OffsetDateTime.now()) == 0) {
+            throw new BusinessValidationException("Only failed or cancelled jobs can be restarted: " + id);
+        }
+        executor.execute(() -> run(id));
+        return getJob(id);
+    }
+
+    private void run(Long id) {
+        if (jobRepository.transition(id, List.of(JobStatus.QUEUED), JobStatus.RUNNING, OffsetDateTime.now()) == 0) {
+            return; // cancelled while queued
+        }
+        DepartmentJob job = getJobEntity(id);
+        JobHandler<Object> handler = handler(job.getType());
+        long completed = job.getCompletedItems();
+        try {
+            Object payload = objectMapper.readValue(job.getPayload(), handler.payloadType());
+            while (true) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return; // shutting down; left RUNNING so the next startup resumes it
+                }
+                if (jobRepository.isCancelRequested(id)) {
+                    jobRepository.finish(id, JobStatus.CANCELLED, null, OffsetDateTime.now());
+                    log.info("Job {} cancelled after {} items", id, completed);
+                    return;
+                }
+                long from = completed;
+                Integer processed = transactionTemplate.execute(status -> {
+                    int count = handler.processChunk(payload, from, chunkSize);
+                    if (count > 0) {
+                        jobRepository.advance(id, count, OffsetDateTime.now());
+                    }
+                    return count;
+                });
+                if (processed == null || processed == 0) {
+                    jobRepository.finish(id, JobStatus.SUCCEEDED, null, OffsetDateTime.now());
+                    log.info("{} job {} finished after {} items", job.getType(), id, completed);
+                    return;
+                }
+                completed += processed;
+            }
+        } catch (Exception ex) {
+            log.warn("{} job {} failed after {} items", job.getType(), id, completed, ex);
+            jobRepository.finish(id, JobStatus.FAILED, errorMessage(ex), OffsetDateTime.now());
+        }
+    }
+
+    private void ensureCapacity() {
+        if (executor.getQueue().size() >= queueCapacity) {
+            throw new CapacityExceededException("Too many jobs are waiting; retry later");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <P> JobHandler<P> handler(JobType type) {
+        JobHandler<?> handler = handlers.get(type);
+        if (handler == null) {
+            throw new IllegalStateException("No handler for job type " + type);
+        }
+        return (JobHandler<P>) handler;
+    }
+
+    private DepartmentJob getJobEntity(Long id) {
+        return jobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Job not found: " + id));
+    }
+
+    private JobResponse toResponse(DepartmentJob job) {
+        return new JobResponse(
+                job.getId(),
+                job.getType(),
+                job.getStatus(),
+                job.getTotalItems(),
+                job.getCompletedItems(),
+                job.isCancelRequested(),
+                job.getError(),
+                job.getCreatedAt(),
+                job.getUpdatedAt());
+    }
+
+    private static String errorMessage(Exception ex) {
+        String message = ex.getMessage() == null ? ex.getClass().getSimpleName() : ex.getMessage();
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.department.job;
+
+import com.example.department.domain.JobType;
+import com.example.department.dto.DepartmentMovesRequest;
+import com.example.department.dto.DepartmentMovesRequest.Move;
+import com.example.department.service.DepartmentService;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DepartmentMovesJobHandler implements JobHandler<DepartmentMovesRequest> {
+
+    private final DepartmentService departmentService;
+
+    public DepartmentMovesJobHandler(DepartmentService departmentService) {
+        this.departmentService = departmentService;
+    }
+
+    @Override
+    public JobType type() {
+        return JobType.DEPARTMENT_MOVES;
+    }
+
+    @Override
+    public Class<DepartmentMovesRequest> payloadType() {
+        return DepartmentMovesRequest.class;
+    }
+
+    @Override
+    public long prepare(DepartmentMovesRequest payload) {
+        return payload.moves().size();
+    }
+
+    @Override
+    public int processChunk(DepartmentMovesRequest payload, long completedItems, int chunkSize) {
+        List<Move> moves = payload.moves();
+        int from = (int) completedItems;
+        int to = Math.min(from + chunkSize, moves.size());
+        if (from >= to) {
+            return 0;
+        }
+        for (Move move : moves.subList(from, to)) {
+            departmentService.moveDepartment(move.departmentId(), move.parentId());
+        }
+        return to - from;
+    }
+}
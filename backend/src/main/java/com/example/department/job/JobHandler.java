@@ -0,0 +1,23 @@
+package com.example.department.job;
+
+import com.example.department.domain.JobType;
+
+/**
+ * One kind of long-running job. The payload is stored as JSON when the job is submitted and read back
+ * each time it runs, so a handler must be able to resume from any committed chunk boundary.
+ */
+public interface JobHandler<P> {
+
+    JobType type();
+
+    Class<P> payloadType();
+
+    /** Validates the payload and returns the number of work items; called once, when the job is submitted. */
+    long prepare(P payload);
+
+    /**
+     * Processes up to {@code chunkSize} items following the first {@code completedItems}, inside the
+     * chunk's transaction, and returns how many it processed. Returning 0 completes the job.
+     */
+    int processChunk(P payload, long completedItems, int chunkSize);
+}
@@ -0,0 +1,47 @@
+package com.example.department.job;
+
+import com.example.department.domain.JobType;
+import com.example.department.dto.DepartmentRollupResponse;
+import com.example.department.dto.SubtreeDeleteRequest;
+import com.example.department.service.DepartmentService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes a department with all its sub-departments and employees: employees first, then departments
+ * deepest first. Each chunk works off what is still in the database rather than the item offset, so a
+ * resumed job simply carries on with whatever is left.
+ */
+@Component
+public class SubtreeDeleteJobHandler implements JobHandler<SubtreeDeleteRequest> {
+
+    private final DepartmentService departmentService;
+
+    public SubtreeDeleteJobHandler(DepartmentService departmentService) {
+        this.departmentService = departmentService;
+    }
+
+    @Override
+    public JobType type() {
+        return JobType.SUBTREE_DELETE;
+    }
+
+    @Override
+    public Class<SubtreeDeleteRequest> payloadType() {
+        return SubtreeDeleteRequest.class;
+    }
+
+    @Override
+    public long prepare(SubtreeDeleteRequest payload) {
+        DepartmentRollupResponse rollup = departmentService.getRollup(payload.departmentId());
+        return rollup.subtreeHeadcount() + rollup.descendantCount() + 1;
+    }
+
+    @Override
+    public int processChunk(SubtreeDeleteRequest payload, long completedItems, int chunkSize) {
+        int removed = departmentService.removeSubtreeEmployees(payload.departmentId(), chunkSize);
+        if (removed > 0) {
+            return removed;
+        }
+        return departmentService.deleteSubtreeDepartments(payload.departmentId(), chunkSize);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.department.lifecycle;
+
+import com.example.department.domain.EmploymentStatus;
+import com.example.department.service.DepartmentService;
+import com.example.department.sharding.ShardRouter;
+import java.time.LocalDate;
+import java.time.Period;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves {@link EmploymentStatus#TERMINATED} employees whose end date is older than
+ * {@code department.archive.retention} from {@code employees} to {@code employees_archive}. Each chunk
+ * is one insert-select plus one delete in its own transaction, so the live table, its indexes and every
+ * default read shrink back to current staff without any long-running transaction.
+ */
+@Component
+@ConditionalOnProperty(prefix = "department.archive", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeArchiver.class);
+
+    private final DepartmentService departmentService;
+    private final ShardRouter shards;
+    private final Period retention;
+    private final int chunkSize;
+
+    public EmployeeArchiver(
+            DepartmentService departmentService,
+            ObjectProvider<ShardRouter> shards,
+            @Value("${department.archive.retention:365d}") Period retention,
+            @Value("${department.archive.chunk-size:1000}") int chunkSize) {
+        this.departmentService = departmentService;
+        this.shards = shards.getIfAvailable(ShardRouter::single);
+        this.retention = retention;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${department.archive.cron:0 45 1 * * *}")
+    public void archiveExpiredEmployees() {
+        long started = System.nanoTime();
+        long archived = archiveEndedBefore(LocalDate.now().minus(retention));
+        if (archived > 0) {
+            log.info("Archived {} terminated employees in {} ms", archived, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    /** Archives every terminated employee whose end date is before {@code cutoff}, shard by shard. */
+    public long archiveEndedBefore(LocalDate cutoff) {
+        long total = 0;
+        for (int shard = 0; shard < shards.shardCount(); shard++) {
+            total += shards.callOn(shard, () -> {
+                long archivedOnShard = 0;
+                int archived;
+                do {
+                    archived = departmentService.archiveTerminatedEmployees(cutoff, chunkSize);
+                    archivedOnShard += archived;
+                } while (archived == chunkSize);
+                return archivedOnShard;
+            });
+        }
+        return total;
+    }
+}
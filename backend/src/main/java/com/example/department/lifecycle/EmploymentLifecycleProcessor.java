@@ -0,0 +1,100 @@
+package com.example.department.lifecycle;
+
+import com.example.department.domain.EmploymentStatus;
+import com.example.department.repository.EmployeeRepository;
+import com.example.department.service.DepartmentChangedEvent;
+import com.example.department.sharding.ShardRouter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves employees whose end date has passed to {@link EmploymentStatus#TERMINATED}. Each chunk reads
+ * only (employee id, department id) pairs and flips them with one bulk update in its own transaction,
+ * so no entities are loaded and no transaction grows beyond {@code department.lifecycle.chunk-size}
+ * rows. Departments touched by a chunk get an {@code EMPLOYEES_CHANGED} event once the chunk commits.
+ */
+@Component
+@ConditionalOnProperty(prefix = "department.lifecycle", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class EmploymentLifecycleProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(EmploymentLifecycleProcessor.class);
+    private static final Set<EmploymentStatus> NOT_TERMINATED = EnumSet.complementOf(EnumSet.of(EmploymentStatus.TERMINATED));
+
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher events;
+    private final ShardRouter shards;
+    private final int chunkSize;
+
+    public EmploymentLifecycleProcessor(
+            EmployeeRepository employeeRepository,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher events,
+            ObjectProvider<ShardRouter> shards,
+            @Value("${department.lifecycle.chunk-size:1000}") int chunkSize) {
+        this.employeeRepository = employeeRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.events = events;
+        this.shards = shards.getIfAvailable(ShardRouter::single);
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(cron = "${department.lifecycle.cron:0 15 1 * * *}")
+    public void terminateDueEmployees() {
+        long started = System.nanoTime();
+        long terminated = terminateEndedBefore(LocalDate.now());
+        if (terminated > 0) {
+            log.info("Terminated {} employees past their end date in {} ms",
+                    terminated, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    /** Terminates every not-yet-terminated employee whose end date is before {@code today}, shard by shard. */
+    public long terminateEndedBefore(LocalDate today) {
+        long total = 0;
+        for (int shard = 0; shard < shards.shardCount(); shard++) {
+            total += shards.callOn(shard, () -> {
+                long terminatedOnShard = 0;
+                int terminated;
+                do {
+                    terminated = transactionTemplate.execute(status -> terminateChunk(today));
+                    terminatedOnShard += terminated;
+                } while (terminated == chunkSize);
+                return terminatedOnShard;
+            });
+        }
+        return total;
+    }
+
+    private int terminateChunk(LocalDate today) {
+        List<Object[]> rows = employeeRepository.findEndedBefore(NOT_TERMINATED, today, PageRequest.of(0, chunkSize));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<Long> employeeIds = new ArrayList<>(rows.size());
+        Set<Long> departmentIds = new LinkedHashSet<>();
+        for (Object[] row : rows) {
+            employeeIds.add((Long) row[0]);
+            if (row[1] != null) {
+                departmentIds.add((Long) row[1]);
+            }
+        }
+        employeeRepository.updateStatus(employeeIds, EmploymentStatus.TERMINATED);
+        departmentIds.forEach(id -> events.publishEvent(DepartmentChangedEvent.employeesChanged(id)));
+        return rows.size();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.department.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ServletHttpHandlerAdapter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Serves the reactive read API under {@code /api/reactive/*} from the same Tomcat as the MVC controllers.
+ * WebFlux runs as its own servlet on Servlet 3.1 non-blocking I/O, so a request gives its container
+ * thread back as soon as it is dispatched and a slow client only slows its own stream. Queries go
+ * through the R2DBC pool configured by {@code spring.r2dbc.*}, which queues waiting requests without
+ * holding threads.
+ *
+ * <p>The MVC interceptors (admission control, the sharding guard) do not see these requests. The
+ * R2DBC pool size is what bounds their database concurrency. The API is off in sharded mode, since R2DBC
+ * reaches only one database.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("${department.reactive.enabled:true} and !${department.sharding.enabled:false}")
+public class ReactiveApiConfig {
+
+    @Bean
+    ReactiveDepartmentReader reactiveDepartmentReader(ConnectionFactory connectionFactory) {
+        return new ReactiveDepartmentReader(DatabaseClient.create(connectionFactory));
+    }
+
+    @Bean
+    RouterFunction<ServerResponse> reactiveDepartmentRoutes(ReactiveDepartmentReader reader) {
+        return ReactiveDepartmentRoutes.create(reader);
+    }
+
+    @Bean
+    ServletRegistrationBean<ServletHttpHandlerAdapter> reactiveApiServlet(
+            RouterFunction<ServerResponse> reactiveDepartmentRoutes, ObjectMapper objectMapper) {
+        // The application's ObjectMapper, so dates and numbers serialize as on the MVC endpoints.
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(reactiveDepartmentRoutes, strategies);
+        ServletRegistrationBean<ServletHttpHandlerAdapter> registration =
+                new ServletRegistrationBean<>(new ServletHttpHandlerAdapter(httpHandler), "/api/reactive/*");
+        registration.setName("reactiveApi");
+        registration.setAsyncSupported(true);
+        registration.setLoadOnStartup(1);
+        return registration;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.department.reactive;
+
+import com.example.department.domain.Department;
+import com.example.department.domain.Employee;
+import com.example.department.domain.EmploymentStatus;
+import com.example.department.dto.DepartmentDetailResponse;
+import com.example.department.dto.DepartmentSummaryResponse;
+import com.example.department.exception.ResourceNotFoundException;
+import com.example.department.service.DepartmentMapper;
+import io.r2dbc.spi.Readable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Locale;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The department reads of {@link com.example.department.service.DepartmentService}, over R2DBC against the
+ * same tables. Rows are mapped into detached entities so {@link DepartmentMapper} shapes the responses
+ * exactly as on the blocking path. Nothing here holds a thread while waiting for the database or for a
+ * slow client: rows are fetched as the subscriber requests them.
+ *
+ * <p>Reads are not wrapped in a transaction. The detail view reads the department and its employees with
+ * two statements, so it can interleave with a concurrent write; the blocking path has the same window
+ * under read committed.
+ */
+public class ReactiveDepartmentReader {
+
+    private static final String SUMMARY_SELECT = """
+            select d.id, d.name, d.code, d.head, d.location, d.annual_budget, d.updated_at,
+                   (select count(*) from employees e where e.department_id = d.id) as employee_count
+            from departments d""";
+
+    // Same order as DepartmentService.listDepartments; id breaks ties so the stream order is stable.
+    private static final String SUMMARY_ORDER = " order by lower(d.name), d.id";
+
+    private final DatabaseClient client;
+    private final DepartmentMapper mapper = new DepartmentMapper();
+
+    public ReactiveDepartmentReader(DatabaseClient client) {
+        this.client = client;
+    }
+
+    /** All departments, or those whose name or code contains {@code query} (ignoring case), by name. */
+    public Flux<DepartmentSummaryResponse> listDepartments(String query) {
+        String normalized = StringUtils.hasText(query) ? query.trim() : "";
+        DatabaseClient.GenericExecuteSpec statement;
+        if (normalized.isEmpty()) {
+            statement = client.sql(SUMMARY_SELECT + SUMMARY_ORDER);
+        } else {
+            String pattern = "%" + escapeLike(normalized.toLowerCase(Locale.ROOT)) + "%";
+            statement = client.sql(SUMMARY_SELECT
+                            + " where lower(d.name) like :name escape '\\' or lower(d.code) like :code escape '\\'"
+                            + SUMMARY_ORDER)
+                    .bind("name", pattern)
+                    .bind("code", pattern);
+        }
+        return statement
+                .map(row -> mapper.toSummary(summaryDepartment(row), row.get("employee_count", Long.class).intValue()))
+                .all();
+    }
+
+    public Mono<DepartmentDetailResponse> getDepartment(Long id) {
+        Mono<Department> department = client.sql("""
+                        select id, name, code, parent_id, description, location, head, annual_budget,
+                               created_at, updated_at
+                        from departments where id = :id""")
+                .bind("id", id)
+                .map(ReactiveDepartmentReader::detailDepartment)
+                .one();
+        Flux<Employee> employees = client.sql("""
+                        select id, first_name, last_name, email, job_title, status, start_date, end_date
+                        from employees where department_id = :id""")
+                .bind("id", id)
+                .map(ReactiveDepartmentReader::employee)
+                .all();
+        return department
+                .zipWith(employees.collectList(), (found, staff) -> {
+                    staff.forEach(found::addEmployee);
+                    return mapper.toDetail(found);
+                })
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Department not found: " + id)));
+    }
+
+    private static Department summaryDepartment(Readable row) {
+        Department department = new Department();
+        department.setId(row.get("id", Long.class));
+        department.setName(row.get("name", String.class));
+        department.setCode(row.get("code", String.class));
+        department.setHead(row.get("head", String.class));
+        department.setLocation(row.get("location", String.class));
+        department.setAnnualBudget(row.get("annual_budget", BigDecimal.class));
+        department.setUpdatedAt(row.get("updated_at", OffsetDateTime.class));
+        return department;
+    }
+
+    private static Department detailDepartment(Readable row) {
+        Department department = summaryDepartment(row);
+        department.setDescription(row.get("description", String.class));
+        department.setCreatedAt(row.get("created_at", OffsetDateTime.class));
+        Long parentId = row.get("parent_id", Long.class);
+        if (parentId != null) {
+            Department parent = new Department();
+            parent.setId(parentId);
+            department.setParent(parent);
+        }
+        return department;
+    }
+
+    private static Employee employee(Readable row) {
+        Employee employee = new Employee();
+        employee.setId(row.get("id", Long.class));
+        employee.setFirstName(row.get("first_name", String.class));
+        employee.setLastName(row.get("last_name", String.class));
+        employee.setEmail(row.get("email", String.class));
+        employee.setJobTitle(row.get("job_title", String.class));
+        employee.setStatus(EmploymentStatus.valueOf(row.get("status", String.class)));
+        employee.setStartDate(row.get("start_date", LocalDate.class));
+        employee.setEndDate(row.get("end_date", LocalDate.class));
+        return employee;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
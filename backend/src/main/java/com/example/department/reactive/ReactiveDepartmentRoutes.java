@@ -0,0 +1,64 @@
+package com.example.department.reactive;
+
+import com.example.department.dto.DepartmentSummaryResponse;
+import com.example.department.exception.ResourceNotFoundException;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Functional routes of the reactive read API, relative to the servlet mapping in {@link ReactiveApiConfig}.
+ * A list request that accepts {@code application/x-ndjson} gets one department per line, each written as
+ * soon as the client has taken the previous ones; any other list request gets the same JSON array as
+ * {@code GET /api/departments}, also written incrementally. Errors use the {@code RestExceptionHandler} body.
+ */
+final class ReactiveDepartmentRoutes {
+
+    private ReactiveDepartmentRoutes() {
+    }
+
+    static RouterFunction<ServerResponse> create(ReactiveDepartmentReader reader) {
+        return RouterFunctions.route()
+                .GET("/departments", request -> list(reader, request))
+                .GET("/departments/{id}", request -> detail(reader, request))
+                .onError(ResourceNotFoundException.class,
+                        (ex, request) -> error(HttpStatus.NOT_FOUND, ex.getMessage()))
+                .onError(NumberFormatException.class,
+                        (ex, request) -> error(HttpStatus.BAD_REQUEST, "Invalid department id"))
+                .build();
+    }
+
+    private static Mono<ServerResponse> list(ReactiveDepartmentReader reader, ServerRequest request) {
+        Flux<DepartmentSummaryResponse> departments = reader.listDepartments(request.queryParam("q").orElse(null));
+        boolean stream = request.headers().accept().stream()
+                .anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+        return ServerResponse.ok()
+                .contentType(stream ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(departments, DepartmentSummaryResponse.class);
+    }
+
+    // Deferred so a bad id reaches onError as a signal rather than escaping as a throw.
+    private static Mono<ServerResponse> detail(ReactiveDepartmentReader reader, ServerRequest request) {
+        return Mono.defer(() -> reader.getDepartment(Long.valueOf(request.pathVariable("id"))))
+                .flatMap(department -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(department));
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, String message) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("timestamp", OffsetDateTime.now());
+        body.put("message", message);
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+    }
+}
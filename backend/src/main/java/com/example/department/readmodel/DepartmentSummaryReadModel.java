@@ -0,0 +1,365 @@
+package com.example.department.readmodel;
+
+import com.example.department.dto.DepartmentSummaryResponse;
+import com.example.department.repository.DepartmentRepository;
+import com.example.department.service.DepartmentChangedEvent;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+/**
+ * Serves department summaries from memory. Rows are held column by column: ids, budgets in cents,
+ * employee counts and timestamps in primitive arrays, and the strings alongside them. Each row sits in a
+ * slot that is reused after a delete; a primitive id index finds the slot, and a name index lists the
+ * slots in case-insensitive name order. A committed change rewrites one slot and moves one entry of the
+ * name index, without copying the other rows.
+ *
+ * <p>Readers get an immutable list of all summaries in name order, published once per change and then
+ * shared by every request until the next one. Publishing reuses the summary of every row that did not
+ * change, so a plain listing allocates nothing and a search only the list of matches.
+ *
+ * <p>Heads and locations repeat across departments and are shared between rows. Each shared string is
+ * counted by the rows using it and dropped with the last of them, so renames and deletes do not leave
+ * strings behind.
+ */
+@Component
+@ConditionalOnProperty(prefix = "department.read-model", name = "enabled", havingValue = "true")
+public class DepartmentSummaryReadModel implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(DepartmentSummaryReadModel.class);
+
+    private static final Comparator<DepartmentSummaryResponse> BY_NAME_THEN_ID =
+            Comparator.comparing(DepartmentSummaryResponse::name, String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(DepartmentSummaryResponse::id);
+
+    private static final int MIN_CAPACITY = 16;
+    private static final long NO_BUDGET = Long.MIN_VALUE;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private final DepartmentRepository departmentRepository;
+
+    // Everything below is guarded by this. Columns are indexed by slot.
+    private long[] ids;
+    private String[] names;
+    private String[] codes;
+    private String[] heads;
+    private String[] locations;
+    private long[] budgetCents;
+    private int[] employeeCounts;
+    private long[] updatedAtSeconds;
+    private int[] updatedAtNanos;
+    private int[] updatedAtOffsets;
+    // The published summary of each slot, or null until the slot's current row is first published.
+    private DepartmentSummaryResponse[] summaries;
+
+    private int slotsInUse;
+    private int[] freeSlots;
+    private int freeCount;
+    private final LongIntIndex slotsById = new LongIntIndex();
+    // Slots in name order; the first rowCount entries are used.
+    private int[] byName;
+    private int rowCount;
+    private final Map<String, SharedString> strings = new HashMap<>();
+
+    // Null after a change until the next reader publishes the new state.
+    private volatile List<DepartmentSummaryResponse> published = List.of();
+
+    public DepartmentSummaryReadModel(DepartmentRepository departmentRepository) {
+        this.departmentRepository = departmentRepository;
+        allocate(MIN_CAPACITY);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    public synchronized void reload() {
+        List<DepartmentSummaryResponse> loaded = new ArrayList<>(departmentRepository.findAllSummaries());
+        loaded.sort(BY_NAME_THEN_ID);
+        allocate(Math.max(MIN_CAPACITY, loaded.size()));
+        slotsById.clear(loaded.size());
+        strings.clear();
+        for (DepartmentSummaryResponse summary : loaded) {
+            int slot = slotsInUse++;
+            write(slot, summary);
+            slotsById.put(summary.id(), slot);
+            byName[rowCount++] = slot;
+        }
+        published = null;
+        log.info("Department read model loaded {} departments", rowCount);
+    }
+
+    public List<DepartmentSummaryResponse> list(String query) {
+        List<DepartmentSummaryResponse> all = published();
+        String needle = StringUtils.hasText(query) ? query.trim() : "";
+        if (needle.isEmpty()) {
+            return all;
+        }
+        List<DepartmentSummaryResponse> result = new ArrayList<>();
+        for (DepartmentSummaryResponse summary : all) {
+            if (containsIgnoreCase(summary.name(), needle) || containsIgnoreCase(summary.code(), needle)) {
+                result.add(summary);
+            }
+        }
+        return result;
+    }
+
+    public synchronized int size() {
+        return rowCount;
+    }
+
+    /** Distinct shared head and location strings currently referenced by some department. */
+    synchronized int sharedStrings() {
+        return strings.size();
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        if (event.change() == DepartmentChangedEvent.Change.CATALOG_SYNCED) {
+            reload();
+            return;
+        }
+        if (event.change() == DepartmentChangedEvent.Change.DEPARTMENT_DELETED) {
+            remove(event.departmentId());
+            return;
+        }
+        departmentRepository.findSummaryById(event.departmentId())
+                .ifPresentOrElse(this::upsert, () -> remove(event.departmentId()));
+    }
+
+    synchronized void upsert(DepartmentSummaryResponse summary) {
+        int slot = slotsById.get(summary.id());
+        boolean reorder = true;
+        if (slot < 0) {
+            slot = takeSlot();
+            slotsById.put(summary.id(), slot);
+        } else {
+            reorder = !names[slot].equals(summary.name());
+            if (reorder) {
+                unlink(slot);
+            }
+            release(heads[slot]);
+            release(locations[slot]);
+        }
+        write(slot, summary);
+        if (reorder) {
+            link(slot);
+        }
+        published = null;
+    }
+
+    synchronized void remove(Long id) {
+        int slot = slotsById.get(id);
+        if (slot < 0) {
+            return;
+        }
+        unlink(slot);
+        slotsById.remove(id);
+        release(heads[slot]);
+        release(locations[slot]);
+        names[slot] = null;
+        codes[slot] = null;
+        heads[slot] = null;
+        locations[slot] = null;
+        summaries[slot] = null;
+        freeSlots[freeCount++] = slot;
+        published = null;
+    }
+
+    private List<DepartmentSummaryResponse> published() {
+        List<DepartmentSummaryResponse> current = published;
+        return current != null ? current : publish();
+    }
+
+    // One pass per change, however many commits happened since the last read.
+    private synchronized List<DepartmentSummaryResponse> publish() {
+        if (published == null) {
+            DepartmentSummaryResponse[] rows = new DepartmentSummaryResponse[rowCount];
+            for (int position = 0; position < rowCount; position++) {
+                int slot = byName[position];
+                DepartmentSummaryResponse summary = summaries[slot];
+                if (summary == null) {
+                    summary = toSummary(slot);
+                    summaries[slot] = summary;
+                }
+                rows[position] = summary;
+            }
+            published = Collections.unmodifiableList(Arrays.asList(rows));
+        }
+        return published;
+    }
+
+    private void write(int slot, DepartmentSummaryResponse summary) {
+        ids[slot] = summary.id();
+        names[slot] = summary.name();
+        codes[slot] = summary.code();
+        heads[slot] = acquire(summary.head());
+        locations[slot] = acquire(summary.location());
+        budgetCents[slot] = summary.annualBudget() == null
+                ? NO_BUDGET
+                : summary.annualBudget().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        employeeCounts[slot] = summary.employeeCount();
+        OffsetDateTime updatedAt = summary.updatedAt();
+        if (updatedAt == null) {
+            updatedAtSeconds[slot] = NO_TIMESTAMP;
+        } else {
+            updatedAtSeconds[slot] = updatedAt.toEpochSecond();
+            updatedAtNanos[slot] = updatedAt.getNano();
+            updatedAtOffsets[slot] = updatedAt.getOffset().getTotalSeconds();
+        }
+        summaries[slot] = null;
+    }
+
+    private DepartmentSummaryResponse toSummary(int slot) {
+        long cents = budgetCents[slot];
+        long seconds = updatedAtSeconds[slot];
+        return new DepartmentSummaryResponse(
+                ids[slot],
+                names[slot],
+                codes[slot],
+                heads[slot],
+                locations[slot],
+                cents == NO_BUDGET ? null : BigDecimal.valueOf(cents, 2),
+                employeeCounts[slot],
+                seconds == NO_TIMESTAMP ? null : OffsetDateTime.ofInstant(
+                        Instant.ofEpochSecond(seconds, updatedAtNanos[slot]),
+                        ZoneOffset.ofTotalSeconds(updatedAtOffsets[slot])));
+    }
+
+    private int takeSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slotsInUse == ids.length) {
+            grow(ids.length * 2);
+        }
+        return slotsInUse++;
+    }
+
+    private void link(int slot) {
+        int position = position(names[slot], ids[slot]);
+        System.arraycopy(byName, position, byName, position + 1, rowCount - position);
+        byName[position] = slot;
+        rowCount++;
+    }
+
+    private void unlink(int slot) {
+        int position = position(names[slot], ids[slot]);
+        System.arraycopy(byName, position + 1, byName, position, rowCount - position - 1);
+        rowCount--;
+    }
+
+    // Where a row with this name and id is, or would go, in the name index.
+    private int position(String name, long id) {
+        int low = 0;
+        int high = rowCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int slot = byName[middle];
+            int order = String.CASE_INSENSITIVE_ORDER.compare(names[slot], name);
+            if (order < 0 || (order == 0 && ids[slot] < id)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void allocate(int capacity) {
+        ids = new long[capacity];
+        names = new String[capacity];
+        codes = new String[capacity];
+        heads = new String[capacity];
+        locations = new String[capacity];
+        budgetCents = new long[capacity];
+        employeeCounts = new int[capacity];
+        updatedAtSeconds = new long[capacity];
+        updatedAtNanos = new int[capacity];
+        updatedAtOffsets = new int[capacity];
+        summaries = new DepartmentSummaryResponse[capacity];
+        freeSlots = new int[capacity];
+        byName = new int[capacity];
+        slotsInUse = 0;
+        freeCount = 0;
+        rowCount = 0;
+    }
+
+    private void grow(int capacity) {
+        ids = Arrays.copyOf(ids, capacity);
+        names = Arrays.copyOf(names, capacity);
+        codes = Arrays.copyOf(codes, capacity);
+        heads = Arrays.copyOf(heads, capacity);
+        locations = Arrays.copyOf(locations, capacity);
+        budgetCents = Arrays.copyOf(budgetCents, capacity);
+        employeeCounts = Arrays.copyOf(employeeCounts, capacity);
+        updatedAtSeconds = Arrays.copyOf(updatedAtSeconds, capacity);
+        updatedAtNanos = Arrays.copyOf(updatedAtNanos, capacity);
+        updatedAtOffsets = Arrays.copyOf(updatedAtOffsets, capacity);
+        summaries = Arrays.copyOf(summaries, capacity);
+        freeSlots = Arrays.copyOf(freeSlots, capacity);
+        byName = Arrays.copyOf(byName, capacity);
+    }
+
+    private String acquire(String value) {
+        if (value == null) {
+            return null;
+        }
+        SharedString shared = strings.computeIfAbsent(value, SharedString::new);
+        shared.uses++;
+        return shared.value;
+    }
+
+    private void release(String value) {
+        if (value == null) {
+            return;
+        }
+        SharedString shared = strings.get(value);
+        if (shared != null && --shared.uses == 0) {
+            strings.remove(value);
+        }
+    }
+
+    private static boolean containsIgnoreCase(String haystack, String needle) {
+        if (haystack == null) {
+            return false;
+        }
+        int last = haystack.length() - needle.length();
+        for (int offset = 0; offset <= last; offset++) {
+            if (haystack.regionMatches(true, offset, needle, 0, needle.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class SharedString {
+
+        final String value;
+        int uses;
+
+        SharedString(String value) {
+            this.value = value;
+        }
+    }
+}
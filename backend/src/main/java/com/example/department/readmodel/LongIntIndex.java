@@ -0,0 +1,106 @@
+package com.example.department.readmodel;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from a {@code long} key to a non-negative {@code int}, with neither side boxed.
+ * Linear probing; removal shifts the following entries back instead of leaving tombstones, so lookups
+ * stay short however many keys come and go. Not thread-safe.
+ */
+final class LongIntIndex {
+
+    private static final long FREE = Long.MIN_VALUE;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    LongIntIndex() {
+        allocate(MIN_CAPACITY);
+    }
+
+    /** The value for {@code key}, or -1 if there is none. */
+    int get(long key) {
+        for (int i = home(key); ; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+            if (keys[i] == FREE) {
+                return -1;
+            }
+        }
+    }
+
+    void put(long key, int value) {
+        if ((size + 1) * 3L > keys.length * 2L) {
+            rehash(keys.length * 2);
+        }
+        int i = home(key);
+        while (keys[i] != FREE && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (keys[i] == FREE) {
+            size++;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    void remove(long key) {
+        int hole = home(key);
+        while (keys[hole] != key) {
+            if (keys[hole] == FREE) {
+                return;
+            }
+            hole = (hole + 1) & mask;
+        }
+        size--;
+        // Move back every later entry of the run that may sit in the hole, so no probe stops early.
+        for (int i = (hole + 1) & mask; keys[i] != FREE; i = (i + 1) & mask) {
+            if (((i - home(keys[i])) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        keys[hole] = FREE;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear(int expected) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 2L < expected * 3L) {
+            capacity *= 2;
+        }
+        allocate(capacity);
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, FREE);
+        values = new int[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private int home(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32)) & mask;
+    }
+}
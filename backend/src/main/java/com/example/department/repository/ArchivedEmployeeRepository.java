@@ -0,0 +1,24 @@
+package com.example.department.repository;
+
+import com.example.department.domain.ArchivedEmployee;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface ArchivedEmployeeRepository extends JpaRepository<ArchivedEmployee, Long> {
+
+    List<ArchivedEmployee> findByDepartmentIdOrderByEndDateDescIdDesc(Long departmentId, Pageable page);
+
+    // Copies the live rows in one statement; the caller deletes them from employees in the same transaction.
+    @Modifying(flushAutomatically = true)
+    @Query(nativeQuery = true, value = """
+            insert into employees_archive
+                (id, first_name, last_name, email, job_title, status, start_date, end_date, department_id, archived_at)
+            select id, first_name, last_name, email, job_title, status, start_date, end_date, department_id, :archivedAt
+            from employees where id in :ids""")
+    int copyFromEmployees(Collection<Long> ids, OffsetDateTime archivedAt);
+}
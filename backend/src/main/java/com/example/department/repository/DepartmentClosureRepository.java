@@ -0,0 +1,89 @@
+package com.example.department.repository;
+
+import com.example.department.domain.DepartmentClosure;
+import com.example.department.dto.DepartmentRollupResponse;
+import com.example.department.dto.DepartmentSummaryResponse;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface DepartmentClosureRepository extends JpaRepository<DepartmentClosure, DepartmentClosure.Key> {
+
+    boolean existsByAncestorIdAndDescendantId(Long ancestorId, Long descendantId);
+
+    @Modifying
+    @Query(value = """
+            insert into department_closure (ancestor_id, descendant_id, depth)
+            select ancestor_id, cast(:departmentId as bigint), depth + 1
+            from department_closure where descendant_id = :parentId
+            union all
+            select cast(:departmentId as bigint), cast(:departmentId as bigint), 0""", nativeQuery = true)
+    void link(Long departmentId, Long parentId);
+
+    @Modifying
+    @Query(value = """
+            insert into department_closure (ancestor_id, descendant_id, depth)
+            values (:departmentId, :departmentId, 0)""", nativeQuery = true)
+    void linkRoot(Long departmentId);
+
+    // Drops every path from outside the subtree into it; paths inside the subtree are kept.
+    @Modifying
+    @Query(value = """
+            delete from department_closure
+            where descendant_id in (select descendant_id from department_closure where ancestor_id = :departmentId)
+              and ancestor_id not in (select descendant_id from department_closure where ancestor_id = :departmentId)""",
+            nativeQuery = true)
+    void detachSubtree(Long departmentId);
+
+    @Modifying
+    @Query(value = """
+            insert into department_closure (ancestor_id, descendant_id, depth)
+            select above.ancestor_id, below.descendant_id, above.depth + below.depth + 1
+            from department_closure above, department_closure below
+            where above.descendant_id = :parentId and below.ancestor_id = :departmentId""", nativeQuery = true)
+    void attachSubtree(Long departmentId, Long parentId);
+
+    @Modifying
+    @Query(value = "delete from department_closure where descendant_id = :departmentId", nativeQuery = true)
+    void unlink(Long departmentId);
+
+    // Adds the deltas to the department's ancestors; minDepth 0 includes the department itself.
+    @Modifying
+    @Query(value = """
+            update departments
+            set subtree_headcount = subtree_headcount + :headcountDelta,
+                subtree_budget = subtree_budget + :budgetDelta
+            where id in (
+                select ancestor_id from department_closure where descendant_id = :departmentId and depth >= :minDepth)""",
+            nativeQuery = true)
+    void adjustRollups(Long departmentId, int minDepth, long headcountDelta, BigDecimal budgetDelta);
+
+    @Query("""
+            select new com.example.department.dto.DepartmentSummaryResponse(
+                d.id, d.name, d.code, d.head, d.location, d.annualBudget, size(d.employees), d.updatedAt)
+            from DepartmentClosure c join Department d on d.id = c.descendantId
+            where c.ancestorId = :departmentId and c.depth > 0
+            order by c.depth, d.name""")
+    List<DepartmentSummaryResponse> findDescendantSummaries(Long departmentId);
+
+    // Children always sort before their parents, so deleting in this order never hits a non-leaf.
+    @Query("""
+            select c.descendantId from DepartmentClosure c
+            where c.ancestorId = :departmentId
+            order by c.depth desc, c.descendantId""")
+    List<Long> findSubtreeIdsDeepestFirst(Long departmentId, Pageable page);
+
+    @Query("""
+            select new com.example.department.dto.DepartmentRollupResponse(
+                d.id,
+                (select count(c) from DepartmentClosure c where c.ancestorId = d.id and c.depth > 0),
+                d.subtreeHeadcount,
+                d.subtreeBudget)
+            from Department d
+            where d.id = :departmentId""")
+    Optional<DepartmentRollupResponse> findRollup(Long departmentId);
+}
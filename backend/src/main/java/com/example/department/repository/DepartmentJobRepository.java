@@ -0,0 +1,59 @@
+package com.example.department.repository;
+
+import com.example.department.domain.DepartmentJob;
+import com.example.department.domain.JobStatus;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+// Status changes are conditional on the current status, so a worker and a cancel request cannot both win.
+public interface DepartmentJobRepository extends JpaRepository<DepartmentJob, Long> {
+
+    List<DepartmentJob> findTop50ByOrderByIdDesc();
+
+    List<DepartmentJob> findByStatusInOrderById(Collection<JobStatus> statuses);
+
+    @Query("select j.cancelRequested from DepartmentJob j where j.id = :id")
+    boolean isCancelRequested(Long id);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update DepartmentJob j set j.status = :to, j.updatedAt = :now
+            where j.id = :id and j.status in :from""")
+    int transition(Long id, Collection<JobStatus> from, JobStatus to, OffsetDateTime now);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update DepartmentJob j set j.status = :to, j.error = :error, j.cancelRequested = false, j.updatedAt = :now
+            where j.id = :id and j.status = com.example.department.domain.JobStatus.RUNNING""")
+    int finish(Long id, JobStatus to, String error, OffsetDateTime now);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update DepartmentJob j
+            set j.status = com.example.department.domain.JobStatus.QUEUED, j.error = null, j.cancelRequested = false,
+                j.updatedAt = :now
+            where j.id = :id and j.status in :from""")
+    int requeue(Long id, Collection<JobStatus> from, OffsetDateTime now);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update DepartmentJob j set j.cancelRequested = true, j.updatedAt = :now
+            where j.id = :id and j.status = com.example.department.domain.JobStatus.RUNNING""")
+    int requestCancel(Long id, OffsetDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            update DepartmentJob j set j.completedItems = j.completedItems + :items, j.updatedAt = :now
+            where j.id = :id""")
+    int advance(Long id, long items, OffsetDateTime now);
+}
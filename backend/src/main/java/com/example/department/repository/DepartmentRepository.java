@@ -1,17 +1,34 @@
 package com.example.department.repository;
 
 import com.example.department.domain.Department;
+import com.example.department.dto.DepartmentSummaryResponse;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
 
     boolean existsByCodeIgnoreCase(String code);
 
+    boolean existsByParentId(Long parentId);
+
     Optional<Department> findByCodeIgnoreCase(String code);
 
     @EntityGraph(attributePaths = "employees")
     List<Department> findByNameContainingIgnoreCaseOrCodeContainingIgnoreCase(String name, String code);
+
+    @Query("""
+            select new com.example.department.dto.DepartmentSummaryResponse(
+                d.id, d.name, d.code, d.head, d.location, d.annualBudget, size(d.employees), d.updatedAt)
+            from Department d""")
+    List<DepartmentSummaryResponse> findAllSummaries();
+
+    @Query("""
+            select new com.example.department.dto.DepartmentSummaryResponse(
+                d.id, d.name, d.code, d.head, d.location, d.annualBudget, size(d.employees), d.updatedAt)
+            from Department d
+            where d.id = :id""")
+    Optional<DepartmentSummaryResponse> findSummaryById(Long id);
 }
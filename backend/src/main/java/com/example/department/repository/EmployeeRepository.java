@@ -1,10 +1,39 @@
 package com.example.department.repository;
 
 import com.example.department.domain.Employee;
+import com.example.department.domain.EmploymentStatus;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
     Optional<Employee> findByEmailIgnoreCase(String email);
+
+    // Rows of (employee id, department id) for everyone in the department's subtree.
+    @Query("""
+            select e.id, e.department.id from Employee e
+            where e.department.id in (select c.descendantId from DepartmentClosure c where c.ancestorId = :departmentId)
+            order by e.id""")
+    List<Object[]> findSubtreeEmployeeIds(Long departmentId, Pageable page);
+
+    // Rows of (employee id, department id), read straight off idx_employees_status_end_date. Unordered on
+    // purpose: callers change or remove the rows so they drop out of the predicate, and each chunk just
+    // takes the first rows the index yields.
+    @Query("""
+            select e.id, d.id from Employee e left join e.department d
+            where e.status in :statuses and e.endDate < :before""")
+    List<Object[]> findEndedBefore(Collection<EmploymentStatus> statuses, LocalDate before, Pageable page);
+
+    @Query("select e.email from Employee e where e.id in :ids")
+    List<String> findEmailsByIdIn(Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Employee e set e.status = :status where e.id in :ids")
+    int updateStatus(Collection<Long> ids, EmploymentStatus status);
 }
@@ -0,0 +1,45 @@
+package com.example.department.service;
+
+import com.example.department.dto.DepartmentDetailResponse;
+import com.example.department.dto.DepartmentSummaryResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+@Component
+public class CoalescingDepartmentReader {
+
+    private final DepartmentService departmentService;
+    private final boolean enabled;
+    private final SingleFlight<Long, DepartmentDetailResponse> details;
+    private final SingleFlight<String, List<DepartmentSummaryResponse>> lists;
+
+    public CoalescingDepartmentReader(
+            DepartmentService departmentService,
+            @Value("${department.coalescing.enabled:true}") boolean enabled,
+            @Value("${department.coalescing.max-wait:5s}") Duration maxWait) {
+        this.departmentService = departmentService;
+        this.enabled = enabled;
+        this.details = new SingleFlight<>(maxWait);
+        this.lists = new SingleFlight<>(maxWait);
+    }
+
+    public DepartmentDetailResponse getDepartment(Long id) {
+        if (!enabled) {
+            return departmentService.getDepartment(id);
+        }
+        return details.execute(id, () -> departmentService.getDepartment(id));
+    }
+
+    public List<DepartmentSummaryResponse> listDepartments(String query) {
+        if (!enabled) {
+            return departmentService.listDepartments(query);
+        }
+        // Search is case-insensitive, so queries differing only in case share a result.
+        String key = StringUtils.hasText(query) ? query.trim().toLowerCase(Locale.ROOT) : "";
+        return lists.execute(key, () -> departmentService.listDepartments(query));
+    }
+}
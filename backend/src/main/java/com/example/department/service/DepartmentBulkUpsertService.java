@@ -0,0 +1,236 @@
+package com.example.department.service;
+
+import com.example.department.domain.Department;
+import com.example.department.dto.DepartmentBulkResponse;
+import com.example.department.dto.DepartmentRequest;
+import com.example.department.exception.BusinessValidationException;
+import com.example.department.exception.ResourceNotFoundException;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Applies a full department catalog keyed by code. Existing departments are read in one query, the
+ * insert/update/unchanged split is computed in memory, and inserts, updates, closure rows and rollup
+ * adjustments are each written as JDBC batches. Only departments whose fields actually differ are
+ * updated, so unchanged rows keep their {@code updatedAt}.
+ *
+ * <p>The hierarchy of existing departments is left alone: {@code parentId} is only applied to inserted
+ * departments. Use {@link DepartmentService#updateDepartment} to re-parent. A {@code parentId} has to
+ * name a department that existed before the request; new departments have no id a request could refer
+ * to, so a new parent and its new children take two requests.
+ */
+@Service
+public class DepartmentBulkUpsertService {
+
+    private static final String SELECT_EXISTING =
+            "select id, upper(code), name, description, location, head, annual_budget from departments";
+
+    private static final String INSERT = """
+            insert into departments (name, code, description, location, head, annual_budget, parent_id,
+                                     subtree_headcount, subtree_budget, created_at, updated_at)
+            values (?, ?, ?, ?, ?, ?, ?, 0, 0, ?, ?)""";
+
+    private static final String UPDATE = """
+            update departments
+            set name = ?, description = ?, location = ?, head = ?, annual_budget = ?, updated_at = ?
+            where id = ?""";
+
+    // Same statements as DepartmentClosureRepository.link and adjustRollups, in batchable form.
+    private static final String LINK = """
+            insert into department_closure (ancestor_id, descendant_id, depth)
+            select ancestor_id, cast(? as bigint), depth + 1
+            from department_closure where descendant_id = ?
+            union all
+            select cast(? as bigint), cast(? as bigint), 0""";
+
+    private static final String ADJUST_BUDGET_ROLLUPS = """
+            update departments
+            set subtree_budget = subtree_budget + ?
+            where id in (select ancestor_id from department_closure where descendant_id = ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher events;
+    private final int batchSize;
+    private final DepartmentMapper mapper = new DepartmentMapper();
+
+    public DepartmentBulkUpsertService(
+            DataSource dataSource,
+            EntityManager entityManager,
+            ApplicationEventPublisher events,
+            @Value("${department.bulk.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(batchSize);
+        this.entityManager = entityManager;
+        this.events = events;
+        this.batchSize = batchSize;
+    }
+
+    @Transactional
+    public DepartmentBulkResponse upsert(List<DepartmentRequest> requests) {
+        // JDBC bypasses the persistence context: flush so the read below sees pending JPA writes.
+        entityManager.flush();
+        Map<String, Department> existing = loadExisting();
+        Set<Long> existingIds = new HashSet<>();
+        existing.values().forEach(department -> existingIds.add(department.getId()));
+
+        Set<String> seen = new HashSet<>();
+        List<DepartmentRequest> inserts = new ArrayList<>();
+        List<Department> updates = new ArrayList<>();
+        List<BudgetDelta> budgetDeltas = new ArrayList<>();
+        int unchanged = 0;
+        for (DepartmentRequest request : requests) {
+            Department incoming = new Department();
+            mapper.updateEntity(incoming, request);
+            if (!seen.add(incoming.getCode())) {
+                throw new BusinessValidationException("Department code appears more than once: " + incoming.getCode());
+            }
+            Department current = existing.get(incoming.getCode());
+            if (current == null) {
+                if (request.parentId() != null && !existingIds.contains(request.parentId())) {
+                    throw new ResourceNotFoundException("Parent department not found: " + request.parentId()
+                            + "; parentId must refer to a department that existed before this request");
+                }
+                inserts.add(request);
+            } else if (sameFields(current, incoming)) {
+                unchanged++;
+            } else {
+                incoming.setId(current.getId());
+                updates.add(incoming);
+                BigDecimal delta = budgetOf(incoming.getAnnualBudget()).subtract(budgetOf(current.getAnnualBudget()));
+                if (delta.signum() != 0) {
+                    budgetDeltas.add(new BudgetDelta(current.getId(), delta));
+                }
+            }
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        jdbcTemplate.batchUpdate(UPDATE, updates, batchSize, (ps, department) -> {
+            ps.setString(1, department.getName());
+            ps.setString(2, department.getDescription());
+            ps.setString(3, department.getLocation());
+            ps.setString(4, department.getHead());
+            ps.setBigDecimal(5, department.getAnnualBudget());
+            ps.setObject(6, now);
+            ps.setLong(7, department.getId());
+        });
+        List<Long> insertedIds = insert(inserts, now);
+        List<Long[]> links = new ArrayList<>(inserts.size());
+        for (int i = 0; i < inserts.size(); i++) {
+            links.add(new Long[] {insertedIds.get(i), inserts.get(i).parentId()});
+            BigDecimal budget = budgetOf(inserts.get(i).annualBudget());
+            if (budget.signum() != 0) {
+                budgetDeltas.add(new BudgetDelta(insertedIds.get(i), budget));
+            }
+        }
+        jdbcTemplate.batchUpdate(LINK, links, batchSize, (ps, link) -> {
+            ps.setLong(1, link[0]);
+            ps.setObject(2, link[1], Types.BIGINT);
+            ps.setLong(3, link[0]);
+            ps.setLong(4, link[0]);
+        });
+        jdbcTemplate.batchUpdate(ADJUST_BUDGET_ROLLUPS, budgetDeltas, batchSize, (ps, delta) -> {
+            ps.setBigDecimal(1, delta.amount());
+            ps.setLong(2, delta.departmentId());
+        });
+
+        // Later JPA reads in this transaction must not see entities cached before the batches ran.
+        entityManager.clear();
+        if (!inserts.isEmpty() || !updates.isEmpty()) {
+            events.publishEvent(DepartmentChangedEvent.catalogSynced());
+        }
+        return new DepartmentBulkResponse(inserts.size(), updates.size(), unchanged);
+    }
+
+    private Map<String, Department> loadExisting() {
+        Map<String, Department> existing = new HashMap<>();
+        jdbcTemplate.query(SELECT_EXISTING, rs -> {
+            Department department = new Department();
+            department.setId(rs.getLong(1));
+            department.setCode(rs.getString(2));
+            department.setName(rs.getString(3));
+            department.setDescription(rs.getString(4));
+            department.setLocation(rs.getString(5));
+            department.setHead(rs.getString(6));
+            department.setAnnualBudget(rs.getBigDecimal(7));
+            existing.put(department.getCode(), department);
+        });
+        return existing;
+    }
+
+    private List<Long> insert(List<DepartmentRequest> inserts, OffsetDateTime now) {
+        List<Long> ids = new ArrayList<>(inserts.size());
+        for (int from = 0; from < inserts.size(); from += batchSize) {
+            List<DepartmentRequest> chunk = inserts.subList(from, Math.min(from + batchSize, inserts.size()));
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Department department = new Department();
+                            mapper.updateEntity(department, chunk.get(i));
+                            ps.setString(1, department.getName());
+                            ps.setString(2, department.getCode());
+                            ps.setString(3, department.getDescription());
+                            ps.setString(4, department.getLocation());
+                            ps.setString(5, department.getHead());
+                            ps.setBigDecimal(6, department.getAnnualBudget());
+                            ps.setObject(7, chunk.get(i).parentId(), Types.BIGINT);
+                            ps.setObject(8, now);
+                            ps.setObject(9, now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    },
+                    keys);
+            for (Map<String, Object> key : keys.getKeyList()) {
+                ids.add(((Number) key.values().iterator().next()).longValue());
+            }
+        }
+        return ids;
+    }
+
+    private static boolean sameFields(Department current, Department incoming) {
+        return Objects.equals(current.getName(), incoming.getName())
+                && Objects.equals(current.getDescription(), incoming.getDescription())
+                && Objects.equals(current.getLocation(), incoming.getLocation())
+                && Objects.equals(current.getHead(), incoming.getHead())
+                && sameBudget(current.getAnnualBudget(), incoming.getAnnualBudget());
+    }
+
+    private static boolean sameBudget(BigDecimal current, BigDecimal incoming) {
+        return current == null ? incoming == null : incoming != null && current.compareTo(incoming) == 0;
+    }
+
+    private static BigDecimal budgetOf(BigDecimal budget) {
+        return budget == null ? BigDecimal.ZERO : budget;
+    }
+
+    private record BudgetDelta(Long departmentId, BigDecimal amount) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.department.service;
+
+/**
+ * Published by {@link DepartmentService} whenever a department or its staff changes. Listeners that
+ * maintain derived state should use {@code @TransactionalEventListener} so they only see committed work.
+ * A bulk upsert publishes a single {@link Change#CATALOG_SYNCED} event without a department id instead of
+ * one event per department.
+ */
+public record DepartmentChangedEvent(Long departmentId, Change change) {
+
+    public enum Change {
+        DEPARTMENT_SAVED,
+        DEPARTMENT_DELETED,
+        EMPLOYEES_CHANGED,
+        CATALOG_SYNCED
+    }
+
+    public static DepartmentChangedEvent saved(Long departmentId) {
+        return new DepartmentChangedEvent(departmentId, Change.DEPARTMENT_SAVED);
+    }
+
+    public static DepartmentChangedEvent deleted(Long departmentId) {
+        return new DepartmentChangedEvent(departmentId, Change.DEPARTMENT_DELETED);
+    }
+
+    public static DepartmentChangedEvent employeesChanged(Long departmentId) {
+        return new DepartmentChangedEvent(departmentId, Change.EMPLOYEES_CHANGED);
+    }
+
+    public static DepartmentChangedEvent catalogSynced() {
+        return new DepartmentChangedEvent(null, Change.CATALOG_SYNCED);
+    }
+}
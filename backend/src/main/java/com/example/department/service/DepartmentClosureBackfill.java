@@ -0,0 +1,96 @@
+package com.example.department.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Rebuilds {@code department_closure} and the subtree rollups at startup when some department has no
+ * depth-0 closure row, which is the case for every department created before the hierarchy existed.
+ * Without those rows such departments drop out of {@code /subtree} and {@code /rollup}, and their
+ * employees and budgets never reach their ancestors' totals. The closure is recomputed from
+ * {@code parent_id} and the rollups from the employees and budgets themselves, in one transaction.
+ */
+@Component
+// Shards are created with the hierarchy in place and have nothing to backfill.
+@ConditionalOnExpression("${department.closure-backfill.enabled:true} and !${department.sharding.enabled:false}")
+public class DepartmentClosureBackfill implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(DepartmentClosureBackfill.class);
+
+    private static final String UNLINKED = """
+            select count(*) from departments d
+            where not exists (select 1 from department_closure c where c.ancestor_id = d.id and c.descendant_id = d.id)""";
+
+    private static final String RECOMPUTE_ROLLUPS = """
+            update departments d
+            set subtree_headcount = (
+                    select count(*) from department_closure c join employees e on e.department_id = c.descendant_id
+                    where c.ancestor_id = d.id),
+                subtree_budget = (
+                    select coalesce(sum(x.annual_budget), 0)
+                    from department_closure c join departments x on x.id = c.descendant_id
+                    where c.ancestor_id = d.id)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+
+    public DepartmentClosureBackfill(DataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        backfill();
+    }
+
+    /** Rebuilds the closure and rollups if any department is missing from them; returns how many were. */
+    public long backfill() {
+        Long unlinked = transaction.execute(status -> {
+            long missing = jdbcTemplate.queryForObject(UNLINKED, Long.class);
+            if (missing > 0) {
+                rebuild();
+            }
+            return missing;
+        });
+        if (unlinked > 0) {
+            log.info("Rebuilt the department hierarchy; {} departments had no closure rows", unlinked);
+        }
+        return unlinked;
+    }
+
+    private void rebuild() {
+        Map<Long, Long> parents = new HashMap<>();
+        jdbcTemplate.query("select id, parent_id from departments", rs -> {
+            long id = rs.getLong(1);
+            long parentId = rs.getLong(2);
+            parents.put(id, rs.wasNull() ? null : parentId);
+        });
+        List<Object[]> rows = new ArrayList<>();
+        for (Long id : parents.keySet()) {
+            Long ancestor = id;
+            for (int depth = 0; ancestor != null; depth++) {
+                if (depth > parents.size()) {
+                    throw new IllegalStateException("Department " + id + " is part of a parent_id cycle");
+                }
+                rows.add(new Object[] {ancestor, id, depth});
+                ancestor = parents.get(ancestor);
+            }
+        }
+        jdbcTemplate.update("delete from department_closure");
+        jdbcTemplate.batchUpdate(
+                "insert into department_closure (ancestor_id, descendant_id, depth) values (?, ?, ?)", rows);
+        jdbcTemplate.update(RECOMPUTE_ROLLUPS);
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.department.service;
+
+import com.example.department.exception.BusinessValidationException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A parsed {@code fields=} parameter, such as {@code id,name,employees(id,email)}. Names are the JSON
+ * properties of {@code DepartmentSummaryResponse} (list) or {@code DepartmentDetailResponse} (detail).
+ * {@code employees} without parentheses selects every employee field. Unknown names are rejected with 400.
+ * Selected fields come back in the order of the full response, whatever order they were asked in.
+ */
+public final class DepartmentFieldSelection {
+
+    /** One selectable property and the SQL expression that produces it. */
+    record Field(String name, String sql, Class<?> type) {
+    }
+
+    private static final String EMPLOYEES = "employees";
+
+    static final List<Field> SUMMARY_FIELDS = List.of(
+            new Field("id", "d.id", Long.class),
+            new Field("name", "d.name", String.class),
+            new Field("code", "d.code", String.class),
+            new Field("head", "d.head", String.class),
+            new Field("location", "d.location", String.class),
+            new Field("annualBudget", "d.annual_budget", BigDecimal.class),
+            new Field("employeeCount", "(select count(*) from employees e where e.department_id = d.id)", Integer.class),
+            new Field("updatedAt", "d.updated_at", OffsetDateTime.class));
+
+    static final List<Field> DETAIL_FIELDS = List.of(
+            new Field("id", "d.id", Long.class),
+            new Field("name", "d.name", String.class),
+            new Field("code", "d.code", String.class),
+            new Field("parentId", "d.parent_id", Long.class),
+            new Field("description", "d.description", String.class),
+            new Field("location", "d.location", String.class),
+            new Field("head", "d.head", String.class),
+            new Field("annualBudget", "d.annual_budget", BigDecimal.class),
+            new Field("createdAt", "d.created_at", OffsetDateTime.class),
+            new Field("updatedAt", "d.updated_at", OffsetDateTime.class));
+
+    static final List<Field> EMPLOYEE_FIELDS = List.of(
+            new Field("id", "e.id", Long.class),
+            new Field("firstName", "e.first_name", String.class),
+            new Field("lastName", "e.last_name", String.class),
+            new Field("email", "e.email", String.class),
+            new Field("jobTitle", "e.job_title", String.class),
+            new Field("status", "e.status", String.class),
+            new Field("startDate", "e.start_date", LocalDate.class),
+            new Field("endDate", "e.end_date", LocalDate.class));
+
+    private final List<Field> fields;
+    private final List<Field> employeeFields;
+
+    private DepartmentFieldSelection(List<Field> fields, List<Field> employeeFields) {
+        this.fields = fields;
+        this.employeeFields = employeeFields;
+    }
+
+    public static DepartmentFieldSelection forSummary(String expression) {
+        return parse(expression, SUMMARY_FIELDS, false);
+    }
+
+    public static DepartmentFieldSelection forDetail(String expression) {
+        return parse(expression, DETAIL_FIELDS, true);
+    }
+
+    List<Field> fields() {
+        return fields;
+    }
+
+    /** {@code null} when employees were not asked for, so they are never queried. */
+    List<Field> employeeFields() {
+        return employeeFields;
+    }
+
+    boolean includes(String name) {
+        return fields.stream().anyMatch(field -> field.name().equals(name));
+    }
+
+    private static DepartmentFieldSelection parse(String expression, List<Field> available, boolean allowEmployees) {
+        Set<String> names = new LinkedHashSet<>();
+        Set<String> employeeNames = null;
+        for (String token : splitTopLevel(expression)) {
+            if (!token.startsWith(EMPLOYEES)) {
+                names.add(token);
+                continue;
+            }
+            if (employeeNames == null) {
+                employeeNames = new LinkedHashSet<>();
+            }
+            if (token.equals(EMPLOYEES)) {
+                employeeNames.addAll(EMPLOYEE_FIELDS.stream().map(Field::name).toList());
+            } else if (token.startsWith(EMPLOYEES + "(") && token.endsWith(")")) {
+                employeeNames.addAll(splitTopLevel(token.substring(EMPLOYEES.length() + 1, token.length() - 1)));
+            } else {
+                names.add(token);
+            }
+        }
+        if (employeeNames != null && !allowEmployees) {
+            throw new BusinessValidationException("Field not available here: " + EMPLOYEES);
+        }
+        List<String> unknown = new ArrayList<>(names);
+        unknown.removeIf(name -> available.stream().anyMatch(field -> field.name().equals(name)));
+        if (employeeNames != null) {
+            employeeNames.stream()
+                    .filter(name -> EMPLOYEE_FIELDS.stream().noneMatch(field -> field.name().equals(name)))
+                    .forEach(name -> unknown.add(EMPLOYEES + "." + name));
+        }
+        if (!unknown.isEmpty()) {
+            throw new BusinessValidationException("Unknown fields: " + String.join(", ", unknown));
+        }
+        List<Field> selected = select(names, available);
+        List<Field> selectedEmployees = employeeNames == null ? null : select(employeeNames, EMPLOYEE_FIELDS);
+        if ((selected.isEmpty() && selectedEmployees == null)
+                || (selectedEmployees != null && selectedEmployees.isEmpty())) {
+            throw new BusinessValidationException("Malformed fields parameter: " + expression);
+        }
+        return new DepartmentFieldSelection(selected, selectedEmployees);
+    }
+
+    private static List<Field> select(Set<String> names, List<Field> available) {
+        return available.stream().filter(field -> names.contains(field.name())).toList();
+    }
+
+    // Splits on commas outside parentheses and drops blanks.
+    private static List<String> splitTopLevel(String expression) {
+        List<String> tokens = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i <= expression.length(); i++) {
+            char c = i < expression.length() ? expression.charAt(i) : ',';
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+                if (depth < 0) {
+                    throw new BusinessValidationException("Malformed fields parameter: " + expression);
+                }
+            } else if (c == ',' && depth == 0) {
+                String token = expression.substring(start, i).trim();
+                if (!token.isEmpty()) {
+                    tokens.add(token.replace(" ", ""));
+                }
+                start = i + 1;
+            }
+        }
+        if (depth != 0) {
+            throw new BusinessValidationException("Malformed fields parameter: " + expression);
+        }
+        return tokens;
+    }
+}
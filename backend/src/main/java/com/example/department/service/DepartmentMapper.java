@@ -1,7 +1,9 @@
 package com.example.department.service;
 
+import com.example.department.domain.ArchivedEmployee;
 import com.example.department.domain.Department;
 import com.example.department.domain.Employee;
+import com.example.department.dto.ArchivedEmployeeResponse;
 import com.example.department.dto.DepartmentDetailResponse;
 import com.example.department.dto.DepartmentRequest;
 import com.example.department.dto.DepartmentSummaryResponse;
@@ -13,6 +15,11 @@ import java.util.List;
 public class DepartmentMapper {
 
     public DepartmentSummaryResponse toSummary(Department department) {
+        return toSummary(department, department.getEmployees().size());
+    }
+
+    /** For callers that counted the employees without loading them. */
+    public DepartmentSummaryResponse toSummary(Department department, int employeeCount) {
         return new DepartmentSummaryResponse(
                 department.getId(),
                 department.getName(),
@@ -20,7 +27,7 @@ public class DepartmentMapper {
                 department.getHead(),
                 department.getLocation(),
                 department.getAnnualBudget(),
-                department.getEmployees().size(),
+                employeeCount,
                 department.getUpdatedAt());
     }
 
@@ -33,6 +40,7 @@ public class DepartmentMapper {
                 department.getId(),
                 department.getName(),
                 department.getCode(),
+                department.getParent() == null ? null : department.getParent().getId(),
                 department.getDescription(),
                 department.getLocation(),
                 department.getHead(),
@@ -76,6 +84,20 @@ public class DepartmentMapper {
                 employee.getEndDate());
     }
 
+    public ArchivedEmployeeResponse toArchivedEmployeeResponse(ArchivedEmployee employee) {
+        return new ArchivedEmployeeResponse(
+                employee.getId(),
+                employee.getFirstName(),
+                employee.getLastName(),
+                employee.getEmail(),
+                employee.getJobTitle(),
+                employee.getStatus(),
+                employee.getStartDate(),
+                employee.getEndDate(),
+                employee.getDepartmentId(),
+                employee.getArchivedAt());
+    }
+
     private String trimToNull(String value) {
         if (value == null) {
             return null;
@@ -2,47 +2,111 @@ package com.example.department.service;
 
 import com.example.department.domain.Department;
 import com.example.department.domain.Employee;
+import com.example.department.domain.EmploymentStatus;
+import com.example.department.dto.ArchivedEmployeeResponse;
 import com.example.department.dto.DepartmentDetailResponse;
 import com.example.department.dto.DepartmentRequest;
+import com.example.department.dto.DepartmentRollupResponse;
 import com.example.department.dto.DepartmentSummaryResponse;
 import com.example.department.dto.EmployeeRequest;
 import com.example.department.dto.EmployeeResponse;
 import com.example.department.exception.BusinessValidationException;
 import com.example.department.exception.DuplicateResourceException;
 import com.example.department.exception.ResourceNotFoundException;
+import com.example.department.repository.ArchivedEmployeeRepository;
+import com.example.department.repository.DepartmentClosureRepository;
 import com.example.department.repository.DepartmentRepository;
 import com.example.department.repository.EmployeeRepository;
-import jakarta.transaction.Transactional;
+import com.example.department.sharding.ShardDirectory;
+import com.example.department.sharding.ShardRouter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 @Service
 public class DepartmentService {
 
+    // SQL state of a unique constraint violation.
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private static final Comparator<DepartmentSummaryResponse> BY_NAME =
+            Comparator.comparing(DepartmentSummaryResponse::name, String.CASE_INSENSITIVE_ORDER);
+
     private final DepartmentRepository departmentRepository;
     private final EmployeeRepository employeeRepository;
+    private final DepartmentClosureRepository closureRepository;
+    private final ArchivedEmployeeRepository archivedEmployeeRepository;
+    private final ApplicationEventPublisher events;
+    private final EmployeeEmailFilter emailFilter;
+    private final ShardRouter shards;
+    private final ShardDirectory directory;
     private final DepartmentMapper mapper = new DepartmentMapper();
 
-    public DepartmentService(DepartmentRepository departmentRepository, EmployeeRepository employeeRepository) {
+    public DepartmentService(
+            DepartmentRepository departmentRepository,
+            EmployeeRepository employeeRepository,
+            DepartmentClosureRepository closureRepository,
+            ArchivedEmployeeRepository archivedEmployeeRepository,
+            ApplicationEventPublisher events,
+            ObjectProvider<EmployeeEmailFilter> emailFilter,
+            ObjectProvider<ShardRouter> shards,
+            ObjectProvider<ShardDirectory> directory) {
         this.departmentRepository = departmentRepository;
         this.employeeRepository = employeeRepository;
+        this.closureRepository = closureRepository;
+        this.archivedEmployeeRepository = archivedEmployeeRepository;
+        this.events = events;
+        this.emailFilter = emailFilter.getIfAvailable();
+        this.shards = shards.getIfAvailable(ShardRouter::single);
+        this.directory = directory.getIfAvailable();
     }
 
     @Transactional
     public DepartmentDetailResponse createDepartment(DepartmentRequest request) {
         String normalizedCode = normalizeCode(request.code());
-        if (departmentRepository.existsByCodeIgnoreCase(normalizedCode)) {
+        // A sub-department lives with its parent, so a whole tree shares one shard.
+        int shard = request.parentId() != null
+                ? shards.shardForId(request.parentId())
+                : shards.shardForCode(normalizedCode);
+        shards.route(shard);
+        if (departmentRepository.existsByCodeIgnoreCase(normalizedCode)
+                || !claim(ShardDirectory.Kind.DEPARTMENT_CODE, normalizedCode, shard)) {
             throw new DuplicateResourceException("Department code already exists: " + normalizedCode);
         }
         Department department = new Department();
         mapper.updateEntity(department, request);
+        if (request.parentId() != null) {
+            department.setParent(getDepartmentEntity(request.parentId()));
+        }
         department = departmentRepository.save(department);
+        if (department.getParent() == null) {
+            closureRepository.linkRoot(department.getId());
+        } else {
+            closureRepository.link(department.getId(), department.getParent().getId());
+        }
+        closureRepository.adjustRollups(department.getId(), 0, 0, budgetOf(department.getAnnualBudget()));
+        events.publishEvent(DepartmentChangedEvent.saved(department.getId()));
         return mapper.toDetail(department);
     }
 
     @Transactional
     public DepartmentDetailResponse updateDepartment(Long id, DepartmentRequest request) {
+        shards.route(shards.shardForId(id));
         Department department = getDepartmentEntity(id);
         String normalizedCode = normalizeCode(request.code());
         departmentRepository.findByCodeIgnoreCase(normalizedCode)
@@ -50,28 +114,71 @@ public class DepartmentService {
                 .ifPresent(existing -> {
                     throw new DuplicateResourceException("Department code already exists: " + normalizedCode);
                 });
+        String previousCode = department.getCode();
+        if (!normalizedCode.equals(previousCode)) {
+            if (!claim(ShardDirectory.Kind.DEPARTMENT_CODE, normalizedCode, shards.shardForId(id))) {
+                throw new DuplicateResourceException("Department code already exists: " + normalizedCode);
+            }
+            release(ShardDirectory.Kind.DEPARTMENT_CODE, List.of(previousCode));
+        }
+        BigDecimal previousBudget = budgetOf(department.getAnnualBudget());
         mapper.updateEntity(department, request);
+        BigDecimal budgetDelta = budgetOf(department.getAnnualBudget()).subtract(previousBudget);
+        if (budgetDelta.signum() != 0) {
+            closureRepository.adjustRollups(id, 0, 0, budgetDelta);
+        }
+        // No parentId keeps the department where it is: bodies written before parentId existed must not
+        // detach it. Moving to the top level goes through moveDepartment (PUT /api/departments/{id}/parent).
+        Long currentParentId = department.getParent() == null ? null : department.getParent().getId();
+        if (request.parentId() != null && !Objects.equals(currentParentId, request.parentId())) {
+            moveSubtree(department, request.parentId());
+        }
+        events.publishEvent(DepartmentChangedEvent.saved(id));
         return mapper.toDetail(department);
     }
 
     @Transactional
     public EmployeeResponse addEmployee(Long departmentId, EmployeeRequest request) {
+        int shard = shards.shardForId(departmentId);
+        shards.route(shard);
         Department department = getDepartmentEntity(departmentId);
-        employeeRepository.findByEmailIgnoreCase(request.email())
-                .ifPresent(existing -> {
-                    throw new DuplicateResourceException("Employee email already exists: " + existing.getEmail());
-                });
+        String email = request.email().trim().toLowerCase();
+        if (directory != null) {
+            // Sharded: each shard's unique constraint only sees its own rows, the directory sees them all.
+            if (!directory.claim(ShardDirectory.Kind.EMPLOYEE_EMAIL, email, shard)) {
+                throw new DuplicateResourceException("Employee email already exists: " + email);
+            }
+        } else if (emailFilter == null || emailFilter.mightExist(email)) {
+            // A definite miss skips the lookup; the unique constraint below still catches anything the filter missed.
+            employeeRepository.findByEmailIgnoreCase(email)
+                    .ifPresent(existing -> {
+                        throw new DuplicateResourceException("Employee email already exists: " + existing.getEmail());
+                    });
+        }
         if (request.endDate() != null && request.startDate() != null
                 && request.endDate().isBefore(request.startDate())) {
             throw new BusinessValidationException("Employee end date cannot be before start date");
         }
         Employee employee = mapper.toEmployee(department, request);
-        employeeRepository.save(employee);
+        try {
+            employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException ex) {
+            if (!violatesEmailKey(ex)) {
+                throw ex;
+            }
+            throw new DuplicateResourceException("Employee email already exists: " + email);
+        }
+        if (emailFilter != null) {
+            emailFilter.added(email);
+        }
+        closureRepository.adjustRollups(departmentId, 0, 1, BigDecimal.ZERO);
+        events.publishEvent(DepartmentChangedEvent.employeesChanged(departmentId));
         return mapper.toEmployeeResponse(employee);
     }
 
     @Transactional
     public void removeEmployee(Long departmentId, Long employeeId) {
+        shards.route(shards.shardForId(departmentId));
         Department department = getDepartmentEntity(departmentId);
         Employee employee = employeeRepository.findById(employeeId)
                 .filter(e -> e.getDepartment() != null && e.getDepartment().getId().equals(departmentId))
@@ -79,35 +186,227 @@ public class DepartmentService {
                         new ResourceNotFoundException("Employee not found in department: " + employeeId));
         department.removeEmployee(employee);
         employeeRepository.delete(employee);
+        release(ShardDirectory.Kind.EMPLOYEE_EMAIL, List.of(employee.getEmail().toLowerCase()));
+        closureRepository.adjustRollups(departmentId, 0, -1, BigDecimal.ZERO);
+        if (emailFilter != null) {
+            emailFilter.removed(1);
+        }
+        events.publishEvent(DepartmentChangedEvent.employeesChanged(departmentId));
     }
 
     @Transactional
     public void deleteDepartment(Long id) {
+        shards.route(shards.shardForId(id));
         Department department = getDepartmentEntity(id);
+        if (departmentRepository.existsByParentId(id)) {
+            throw new BusinessValidationException("Department has sub-departments; move or delete them first");
+        }
+        if (directory != null) {
+            release(ShardDirectory.Kind.DEPARTMENT_CODE, List.of(department.getCode()));
+            release(ShardDirectory.Kind.EMPLOYEE_EMAIL, department.getEmployees().stream()
+                    .map(employee -> employee.getEmail().toLowerCase())
+                    .toList());
+        }
+        DepartmentRollupResponse rollup = getRollup(id);
+        closureRepository.adjustRollups(id, 1, -rollup.subtreeHeadcount(), rollup.subtreeBudget().negate());
+        closureRepository.unlink(id);
         departmentRepository.delete(department);
+        if (emailFilter != null && rollup.subtreeHeadcount() > 0) {
+            emailFilter.removed(rollup.subtreeHeadcount());
+        }
+        events.publishEvent(DepartmentChangedEvent.deleted(id));
+    }
+
+    @Transactional
+    public void moveDepartment(Long id, Long parentId) {
+        shards.route(shards.shardForId(id));
+        Department department = getDepartmentEntity(id);
+        Long currentParentId = department.getParent() == null ? null : department.getParent().getId();
+        if (!Objects.equals(currentParentId, parentId)) {
+            moveSubtree(department, parentId);
+            events.publishEvent(DepartmentChangedEvent.saved(id));
+        }
+    }
+
+    /**
+     * Deletes up to {@code limit} employees from the department's subtree and returns how many went.
+     * Together with {@link #deleteSubtreeDepartments} this takes a subtree apart in bounded transactions.
+     */
+    @Transactional
+    public int removeSubtreeEmployees(Long departmentId, int limit) {
+        shards.route(shards.shardForId(departmentId));
+        List<Object[]> rows = employeeRepository.findSubtreeEmployeeIds(departmentId, PageRequest.of(0, limit));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<Long> employeeIds = employeeIds(rows);
+        releaseEmails(employeeIds);
+        employeeRepository.deleteAllByIdInBatch(employeeIds);
+        employeesRemoved(rows);
+        return rows.size();
+    }
+
+    /**
+     * Moves up to {@code limit} terminated employees whose end date is before {@code endedBefore} into
+     * {@code employees_archive} and returns how many moved. Rollups drop the archived headcount, so live
+     * reads never see them again. When sharded this works on the current shard only; callers visit each
+     * shard through {@link ShardRouter#callOn}.
+     */
+    @Transactional
+    public int archiveTerminatedEmployees(LocalDate endedBefore, int limit) {
+        List<Object[]> rows = employeeRepository.findEndedBefore(
+                List.of(EmploymentStatus.TERMINATED), endedBefore, PageRequest.of(0, limit));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<Long> employeeIds = employeeIds(rows);
+        releaseEmails(employeeIds);
+        archivedEmployeeRepository.copyFromEmployees(employeeIds, OffsetDateTime.now());
+        employeeRepository.deleteAllByIdInBatch(employeeIds);
+        employeesRemoved(rows);
+        return rows.size();
+    }
+
+    /** Archived employees of a department, latest end date first. The department itself may be gone. */
+    @Transactional(readOnly = true)
+    public List<ArchivedEmployeeResponse> listArchivedEmployees(Long departmentId, int page, int size) {
+        shards.route(shards.shardForId(departmentId));
+        return archivedEmployeeRepository.findByDepartmentIdOrderByEndDateDescIdDesc(
+                        departmentId, PageRequest.of(page, size)).stream()
+                .map(mapper::toArchivedEmployeeResponse)
+                .toList();
     }
 
+    /** Deletes up to {@code limit} departments of the subtree, deepest first, and returns how many went. */
     @Transactional
+    public int deleteSubtreeDepartments(Long departmentId, int limit) {
+        shards.route(shards.shardForId(departmentId));
+        List<Long> ids = closureRepository.findSubtreeIdsDeepestFirst(departmentId, PageRequest.of(0, limit));
+        ids.forEach(this::deleteDepartment);
+        return ids.size();
+    }
+
+    @Transactional(readOnly = true)
     public DepartmentDetailResponse getDepartment(Long id) {
+        shards.route(shards.shardForId(id));
         Department department = getDepartmentEntity(id);
         department.getEmployees().size(); // ensure loaded
         return mapper.toDetail(department);
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public List<DepartmentSummaryResponse> listDepartments(String query) {
         String normalized = StringUtils.hasText(query) ? query.trim() : "";
-        List<Department> departments;
-        if (normalized.isEmpty()) {
-            departments = departmentRepository.findAll();
-        } else {
-            departments = departmentRepository.findByNameContainingIgnoreCaseOrCodeContainingIgnoreCase(
-                    normalized, normalized);
+        // Sharded, every shard searches in parallel and the sorted lists are merged.
+        return shards.gatherSorted(shard -> {
+            List<Department> departments;
+            if (normalized.isEmpty()) {
+                departments = departmentRepository.findAll();
+            } else {
+                departments = departmentRepository.findByNameContainingIgnoreCaseOrCodeContainingIgnoreCase(
+                        normalized, normalized);
+            }
+            return departments.stream()
+                    .map(mapper::toSummary)
+                    .sorted(BY_NAME)
+                    .toList();
+        }, BY_NAME);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DepartmentSummaryResponse> listDescendants(Long id) {
+        shards.route(shards.shardForId(id));
+        getDepartmentEntity(id);
+        return closureRepository.findDescendantSummaries(id);
+    }
+
+    @Transactional(readOnly = true)
+    public DepartmentRollupResponse getRollup(Long id) {
+        shards.route(shards.shardForId(id));
+        return closureRepository.findRollup(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found: " + id));
+    }
+
+    // Only the email unique key means a duplicate; any other violation must not pass for one. H2 reports
+    // the backing index, whose name starts with the constraint's.
+    private static boolean violatesEmailKey(DataIntegrityViolationException ex) {
+        if (!(ex.getCause() instanceof ConstraintViolationException violation)) {
+            return false;
+        }
+        String constraint = violation.getConstraintName();
+        if (constraint == null) {
+            return UNIQUE_VIOLATION.equals(violation.getSQLState());
+        }
+        return constraint.toLowerCase(Locale.ROOT).contains(Employee.EMAIL_UNIQUE_KEY);
+    }
+
+    // Re-parents the whole subtree: its totals leave the old ancestors and are added to the new ones.
+    private void moveSubtree(Department department, Long newParentId) {
+        Long id = department.getId();
+        Department newParent = null;
+        if (newParentId != null) {
+            if (shards.shardForId(newParentId) != shards.shardForId(id)) {
+                throw new BusinessValidationException("Department cannot be moved under a department on another shard");
+            }
+            newParent = getDepartmentEntity(newParentId);
+            if (closureRepository.existsByAncestorIdAndDescendantId(id, newParentId)) {
+                throw new BusinessValidationException("Department cannot be moved under itself or its sub-departments");
+            }
+        }
+        DepartmentRollupResponse rollup = getRollup(id);
+        closureRepository.adjustRollups(id, 1, -rollup.subtreeHeadcount(), rollup.subtreeBudget().negate());
+        closureRepository.detachSubtree(id);
+        if (newParent != null) {
+            closureRepository.attachSubtree(id, newParentId);
+            closureRepository.adjustRollups(id, 1, rollup.subtreeHeadcount(), rollup.subtreeBudget());
+        }
+        department.setParent(newParent);
+    }
+
+    private static BigDecimal budgetOf(BigDecimal budget) {
+        return budget == null ? BigDecimal.ZERO : budget;
+    }
+
+    private static List<Long> employeeIds(List<Object[]> rows) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        rows.forEach(row -> ids.add((Long) row[0]));
+        return ids;
+    }
+
+    // Bookkeeping after (employee id, department id) rows left the employees table in bulk.
+    private void employeesRemoved(List<Object[]> rows) {
+        Map<Long, Long> removedPerDepartment = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            if (row[1] != null) {
+                removedPerDepartment.merge((Long) row[1], 1L, Long::sum);
+            }
+        }
+        removedPerDepartment.forEach((id, removed) -> {
+            closureRepository.adjustRollups(id, 0, -removed, BigDecimal.ZERO);
+            events.publishEvent(DepartmentChangedEvent.employeesChanged(id));
+        });
+        if (emailFilter != null) {
+            emailFilter.removed(rows.size());
+        }
+    }
+
+    private boolean claim(ShardDirectory.Kind kind, String key, int shard) {
+        return directory == null || directory.claim(kind, key, shard);
+    }
+
+    private void release(ShardDirectory.Kind kind, List<String> keys) {
+        if (directory != null) {
+            directory.releaseAfterCommit(kind, keys);
+        }
+    }
+
+    // Must run before the rows are deleted: the directory is keyed by email, not id.
+    private void releaseEmails(List<Long> employeeIds) {
+        if (directory != null) {
+            release(ShardDirectory.Kind.EMPLOYEE_EMAIL, employeeRepository.findEmailsByIdIn(employeeIds).stream()
+                    .map(String::toLowerCase)
+                    .toList());
         }
-        return departments.stream()
-                .map(mapper::toSummary)
-                .sorted((a, b) -> a.name().compareToIgnoreCase(b.name()))
-                .toList();
     }
 
     private Department getDepartmentEntity(Long id) {
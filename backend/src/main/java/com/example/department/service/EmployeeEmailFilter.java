@@ -0,0 +1,124 @@
+package com.example.department.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Bloom filter of normalized employee emails that lets {@link DepartmentService#addEmployee} skip the
+ * uniqueness lookup when an email has definitely never been seen. The filter is only an optimization:
+ * the unique constraint on {@code employees.email} stays the final guard, so a stale filter costs at
+ * worst a constraint violation, never a duplicate.
+ *
+ * <p>Bits cannot be cleared, so removed emails keep answering "maybe". Once removals reach a quarter of
+ * the emails added, the filter is rebuilt from the table in the background.
+ */
+@Component
+// Sharded deployments check emails against the ShardDirectory instead.
+@ConditionalOnExpression("${department.email-filter.enabled:true} and !${department.sharding.enabled:false}")
+public class EmployeeEmailFilter implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(EmployeeEmailFilter.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final long maxBytes;
+    private final Counter lookupsAvoided;
+    private final Counter lookupsPerformed;
+    private final AtomicLong added = new AtomicLong();
+    private final AtomicLong removed = new AtomicLong();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile BloomFilter filter;
+
+    public EmployeeEmailFilter(
+            DataSource dataSource,
+            MeterRegistry meterRegistry,
+            @Value("${department.email-filter.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${department.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${department.email-filter.max-memory:4MB}") DataSize maxMemory) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(10_000);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxBytes = maxMemory.toBytes();
+        this.lookupsAvoided = Counter.builder("department.email.precheck")
+                .description("Employee email uniqueness lookups answered by the filter alone")
+                .tag("result", "skipped")
+                .register(meterRegistry);
+        this.lookupsPerformed = Counter.builder("department.email.precheck")
+                .description("Employee email uniqueness lookups that still went to the database")
+                .tag("result", "queried")
+                .register(meterRegistry);
+        Gauge.builder("department.email.filter.bytes", this, self -> self.filter == null ? 0 : self.filter.sizeInBytes())
+                .register(meterRegistry);
+        Gauge.builder("department.email.filter.expected.fpp", this,
+                        self -> self.filter == null ? 1 : self.filter.expectedFalsePositiveRate())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /** Rebuilds the filter from the employees table. Until the first build completes every check says "maybe". */
+    public void rebuild() {
+        long started = System.nanoTime();
+        long count = jdbcTemplate.queryForObject("select count(*) from employees", Long.class);
+        BloomFilter next = BloomFilter.create(Math.max(expectedInsertions, count * 2), falsePositiveRate, maxBytes);
+        long[] loaded = {0};
+        jdbcTemplate.query("select email from employees", rs -> {
+            next.add(rs.getString(1).toLowerCase());
+            loaded[0]++;
+        });
+        added.set(loaded[0]);
+        removed.set(0);
+        filter = next;
+        log.info("Employee email filter loaded {} emails into {} KiB ({} hashes) in {} ms",
+                loaded[0], next.sizeInBytes() / 1024, next.hashCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /** {@code false} means the email is definitely not stored; {@code true} means the database must be asked. */
+    public boolean mightExist(String normalizedEmail) {
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(normalizedEmail)) {
+            lookupsAvoided.increment();
+            return false;
+        }
+        lookupsPerformed.increment();
+        return true;
+    }
+
+    public void added(String normalizedEmail) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.add(normalizedEmail);
+            added.incrementAndGet();
+        }
+    }
+
+    public void removed(long count) {
+        if (removed.addAndGet(count) * 4 >= Math.max(added.get(), 1) && rebuilding.compareAndSet(false, true)) {
+            CompletableFuture.runAsync(this::rebuild)
+                    .whenComplete((ignored, failure) -> {
+                        rebuilding.set(false);
+                        if (failure != null) {
+                            log.warn("Employee email filter rebuild failed", failure);
+                        }
+                    });
+        }
+    }
+}
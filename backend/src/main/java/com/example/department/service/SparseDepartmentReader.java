@@ -0,0 +1,113 @@
+package com.example.department.service;
+
+import com.example.department.exception.ResourceNotFoundException;
+import com.example.department.sharding.ShardRouter;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+/**
+ * Department reads for a {@link DepartmentFieldSelection}. Only the selected columns are queried, so an
+ * unselected {@code description} is never read, an unselected employee count never runs its subquery,
+ * and employees are queried only when {@code employees(...)} is selected. Rows come back as ordered maps
+ * holding just the selected properties, which Jackson serializes as they are.
+ *
+ * <p>Ordering matches {@link DepartmentService}: departments by name ignoring case, employees by last
+ * name and then first name. Both orders are applied in SQL.
+ */
+@Service
+public class SparseDepartmentReader {
+
+    private static final String NAME = "name";
+    private static final Comparator<Map<String, Object>> BY_NAME =
+            Comparator.comparing(row -> (String) row.get(NAME), String.CASE_INSENSITIVE_ORDER);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shards;
+
+    public SparseDepartmentReader(DataSource dataSource, ObjectProvider<ShardRouter> shards) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.shards = shards.getIfAvailable(ShardRouter::single);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> listDepartments(String query, DepartmentFieldSelection selection) {
+        String normalized = StringUtils.hasText(query) ? query.trim() : "";
+        List<DepartmentFieldSelection.Field> columns = new ArrayList<>(selection.fields());
+        // Name is always read: it orders the rows and merges the shards. It is dropped again below.
+        boolean nameSelected = selection.includes(NAME);
+        if (!nameSelected) {
+            columns.add(DepartmentFieldSelection.SUMMARY_FIELDS.stream()
+                    .filter(field -> field.name().equals(NAME))
+                    .findFirst()
+                    .orElseThrow());
+        }
+        StringBuilder sql = new StringBuilder("select ").append(selectList(columns)).append(" from departments d");
+        List<Object> arguments = new ArrayList<>();
+        if (!normalized.isEmpty()) {
+            String pattern = "%" + escapeLike(normalized.toLowerCase(Locale.ROOT)) + "%";
+            sql.append(" where lower(d.name) like ? escape '\\' or lower(d.code) like ? escape '\\'");
+            arguments.add(pattern);
+            arguments.add(pattern);
+        }
+        sql.append(" order by lower(d.name), d.id");
+        List<Map<String, Object>> rows = shards.gatherSorted(
+                shard -> jdbcTemplate.query(sql.toString(), rowMapper(columns), arguments.toArray()), BY_NAME);
+        if (!nameSelected) {
+            rows.forEach(row -> row.remove(NAME));
+        }
+        return rows;
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getDepartment(Long id, DepartmentFieldSelection selection) {
+        shards.route(shards.shardForId(id));
+        List<DepartmentFieldSelection.Field> columns = selection.fields();
+        // With nothing but employees selected, the department query only has to prove the row exists.
+        String selectList = columns.isEmpty() ? "d.id" : selectList(columns);
+        List<Map<String, Object>> found = jdbcTemplate.query(
+                "select " + selectList + " from departments d where d.id = ?", rowMapper(columns), id);
+        if (found.isEmpty()) {
+            throw new ResourceNotFoundException("Department not found: " + id);
+        }
+        Map<String, Object> department = found.get(0);
+        List<DepartmentFieldSelection.Field> employeeColumns = selection.employeeFields();
+        if (employeeColumns != null) {
+            department.put("employees", jdbcTemplate.query(
+                    "select " + selectList(employeeColumns)
+                            + " from employees e where e.department_id = ? order by e.last_name, e.first_name",
+                    rowMapper(employeeColumns), id));
+        }
+        return department;
+    }
+
+    private static String selectList(List<DepartmentFieldSelection.Field> columns) {
+        return columns.stream().map(DepartmentFieldSelection.Field::sql).collect(Collectors.joining(", "));
+    }
+
+    private static RowMapper<Map<String, Object>> rowMapper(List<DepartmentFieldSelection.Field> columns) {
+        return (ResultSet rs, int rowNum) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                row.put(columns.get(i).name(), rs.getObject(i + 1, columns.get(i).type()));
+            }
+            return row;
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.department.sharding;
+
+/**
+ * The shard the current thread's connections are taken from. Unset means the home shard (shard 0), which
+ * also holds the tables that are not sharded: jobs, idempotency keys and the {@link ShardDirectory}.
+ */
+public final class ShardContext {
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    static void set(int shard) {
+        CURRENT.set(shard);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.department.sharding;
+
+import java.util.Collection;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cross-shard unique keys (department codes and employee emails), kept in one small table on the home
+ * shard. Each shard's own unique constraints only see that shard; a key must be claimed here before it
+ * is written to any shard.
+ *
+ * <p>Claims are autocommitted on the home shard, outside the shard transaction that uses them, and
+ * undone if that transaction rolls back. Releases happen only after the shard transaction commits. A
+ * crash between the two can leave a claim without a row; such a key stays taken until it is deleted by hand.
+ */
+public class ShardDirectory {
+
+    public enum Kind {
+        DEPARTMENT_CODE,
+        EMPLOYEE_EMAIL
+    }
+
+    private final JdbcTemplate home;
+
+    ShardDirectory(DataSource homeShard) {
+        this.home = new JdbcTemplate(homeShard);
+        home.execute("""
+                create table if not exists shard_directory (
+                    kind varchar(20) not null,
+                    key_value varchar(120) not null,
+                    shard int not null,
+                    primary key (kind, key_value))""");
+    }
+
+    /**
+     * Claims {@code key} for {@code shard} on behalf of the current transaction. Returns {@code false} when
+     * the key is already taken. The claim is dropped again if the transaction rolls back.
+     */
+    public boolean claim(Kind kind, String key, int shard) {
+        try {
+            home.update("insert into shard_directory (kind, key_value, shard) values (?, ?, ?)",
+                    kind.name(), key, shard);
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(kind, List.of(key));
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    /** Releases {@code keys} once the current transaction commits, or at once outside a transaction. */
+    public void releaseAfterCommit(Kind kind, Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<String> released = List.copyOf(keys);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            release(kind, released);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                release(kind, released);
+            }
+        });
+    }
+
+    private void release(Kind kind, List<String> keys) {
+        home.batchUpdate("delete from shard_directory where kind = ? and key_value = ?", keys, keys.size(),
+                (statement, key) -> {
+                    statement.setString(1, kind.name());
+                    statement.setString(2, key);
+                });
+    }
+}
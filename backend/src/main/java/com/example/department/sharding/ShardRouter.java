@@ -0,0 +1,206 @@
+package com.example.department.sharding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Decides which shard a piece of work runs on and runs it there.
+ *
+ * <p>A department tree lives entirely on one shard: a top-level department goes to the shard picked by a
+ * hash of its code, every sub-department to its parent's shard. Closure rows, rollups and employees
+ * therefore never cross shards. Ids are generated so that {@code id % shardCount} is the shard, which
+ * makes every id-based call routable without a lookup.
+ *
+ * <p>Connections are handed out lazily, so a transactional method can {@link #route} itself as its first
+ * step and all of its statements land on that shard. Work that spans shards goes through
+ * {@link #gatherSorted} (parallel reads, merged) or {@link #callOn} (one shard at a time).
+ *
+ * <p>{@link #single()} is the unsharded router: routing is a no-op and gathers run in the caller.
+ */
+public class ShardRouter implements DisposableBean {
+
+    private final int shardCount;
+    private final boolean sharded;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService gatherExecutor;
+
+    private ShardRouter(int shardCount, boolean sharded, TransactionTemplate readOnlyTransaction,
+            ExecutorService gatherExecutor) {
+        this.shardCount = shardCount;
+        this.sharded = sharded;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.gatherExecutor = gatherExecutor;
+    }
+
+    public static ShardRouter single() {
+        return new ShardRouter(1, false, null, null);
+    }
+
+    static ShardRouter sharded(int shardCount, PlatformTransactionManager transactionManager, int gatherThreads) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(gatherThreads, task -> {
+            Thread thread = new Thread(task, "shard-gather-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new ShardRouter(shardCount, true, readOnly, executor);
+    }
+
+    @Override
+    public void destroy() {
+        if (gatherExecutor != null) {
+            gatherExecutor.shutdownNow();
+        }
+    }
+
+    public boolean isSharded() {
+        return sharded;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    /** Home shard of a new top-level department with this (normalized) code. */
+    public int shardForCode(String code) {
+        CRC32 crc = new CRC32();
+        crc.update(code.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % shardCount);
+    }
+
+    /** Shard holding the department or employee with this id. */
+    public int shardForId(long id) {
+        return (int) Math.floorMod(id, (long) shardCount);
+    }
+
+    /**
+     * Pins the current transaction to {@code shard}. Must run before the transaction's first statement;
+     * a transaction that is already pinned elsewhere cannot be moved.
+     */
+    public void route(int shard) {
+        if (!sharded) {
+            return;
+        }
+        Integer current = ShardContext.current();
+        if (current != null) {
+            if (current != shard) {
+                throw new IllegalStateException(
+                        "Work for shard " + shard + " cannot join a transaction on shard " + current);
+            }
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Shard routing needs an active transaction");
+        }
+        ShardContext.set(shard);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                ShardContext.clear();
+            }
+        });
+    }
+
+    /** Runs {@code work} with {@code shard} as the current shard. Call it outside any transaction. */
+    public <T> T callOn(int shard, Supplier<T> work) {
+        if (!sharded) {
+            return work.get();
+        }
+        Integer previous = ShardContext.current();
+        ShardContext.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                ShardContext.clear();
+            } else {
+                ShardContext.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Runs {@code query} on every shard in parallel, each in its own read-only transaction, and merges
+     * the results. Each shard's list must already be sorted by {@code order}.
+     */
+    public <T> List<T> gatherSorted(IntFunction<List<T>> query, Comparator<? super T> order) {
+        if (!sharded) {
+            return query.apply(0);
+        }
+        List<CompletableFuture<List<T>>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> callOn(target, () -> readOnlyTransaction.execute(status -> query.apply(target))),
+                    gatherExecutor));
+        }
+        List<List<T>> results = new ArrayList<>(shardCount);
+        try {
+            for (CompletableFuture<List<T>> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+        return merge(results, order);
+    }
+
+    // K-way merge of already sorted lists.
+    static <T> List<T> merge(List<List<T>> sortedLists, Comparator<? super T> order) {
+        int total = sortedLists.stream().mapToInt(List::size).sum();
+        List<T> merged = new ArrayList<>(total);
+        PriorityQueue<Cursor<T>> heads = new PriorityQueue<>((a, b) -> order.compare(a.head(), b.head()));
+        for (List<T> list : sortedLists) {
+            if (!list.isEmpty()) {
+                heads.add(new Cursor<>(list));
+            }
+        }
+        while (!heads.isEmpty()) {
+            Cursor<T> cursor = heads.poll();
+            merged.add(cursor.head());
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private static final class Cursor<T> {
+
+        private final List<T> list;
+        private int position;
+
+        Cursor(List<T> list) {
+            this.list = list;
+        }
+
+        T head() {
+            return list.get(position);
+        }
+
+        boolean advance() {
+            return ++position < list.size();
+        }
+    }
+}
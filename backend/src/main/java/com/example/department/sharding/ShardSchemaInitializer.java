@@ -0,0 +1,113 @@
+package com.example.department.sharding;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.TargetType;
+import org.hibernate.tool.schema.spi.ContributableMatcher;
+import org.hibernate.tool.schema.spi.ExecutionOptions;
+import org.hibernate.tool.schema.spi.SchemaManagementTool;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.hibernate.tool.schema.spi.ScriptTargetOutput;
+import org.hibernate.tool.schema.spi.TargetDescriptor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Prepares every shard once the persistence unit is up. Hibernate only manages the schema of the
+ * connection it is given, which is the home shard; the mapping it built is captured here and applied to
+ * the other shards too. Identity columns are then aligned so that shard {@code s} of {@code n} only ever
+ * generates ids with {@code id % n == s}.
+ */
+class ShardSchemaInitializer implements Integrator, SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+    private static final Set<String> SCHEMA_ACTIONS = Set.of("update", "create", "create-drop", "create-only");
+    private static final List<String> SHARD_ROUTED_TABLES = List.of("departments", "employees");
+
+    private static final TargetDescriptor DATABASE_ONLY = new TargetDescriptor() {
+        @Override
+        public EnumSet<TargetType> getTargetTypes() {
+            return EnumSet.of(TargetType.DATABASE);
+        }
+
+        @Override
+        public ScriptTargetOutput getScriptTargetOutput() {
+            return null;
+        }
+    };
+
+    private final ShardRoutingDataSource shards;
+    private volatile Metadata metadata;
+    private volatile Map<String, Object> settings;
+    private volatile SchemaManagementTool schemaTool;
+    private volatile boolean manageSchema;
+
+    ShardSchemaInitializer(ShardRoutingDataSource shards) {
+        this.shards = shards;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext,
+            SessionFactoryImplementor sessionFactory) {
+        Map<String, Object> settings = bootstrapContext.getServiceRegistry().getService(ConfigurationService.class)
+                .getSettings();
+        Object action = settings.get("hibernate.hbm2ddl.auto");
+        this.metadata = metadata;
+        this.settings = settings;
+        this.schemaTool = sessionFactory.getServiceRegistry().getService(SchemaManagementTool.class);
+        this.manageSchema = action != null && SCHEMA_ACTIONS.contains(action.toString().toLowerCase());
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (int shard = 0; shard < shards.shardCount(); shard++) {
+            if (shard > 0 && manageSchema && schemaTool != null) {
+                updateSchema(shard);
+            }
+            alignIdentities(shard);
+        }
+        log.info("Prepared {} shards", shards.shardCount());
+    }
+
+    // The migrator takes its connections from the persistence unit's DataSource, which is the routing
+    // one, so binding the shard here points the whole migration at it. Any failed statement stops startup.
+    private void updateSchema(int shard) {
+        ExecutionOptions options = SchemaManagementToolCoordinator.buildExecutionOptions(settings, ex -> {
+            throw ex;
+        });
+        ShardContext.set(shard);
+        try {
+            schemaTool.getSchemaMigrator(settings)
+                    .doMigration(metadata, options, ContributableMatcher.ALL, DATABASE_ONLY);
+        } finally {
+            ShardContext.clear();
+        }
+    }
+
+    // H2 syntax, the only database this application ships with. The next id is the smallest value above
+    // the current maximum that belongs to this shard, so restarts against existing data stay consistent.
+    private void alignIdentities(int shard) {
+        JdbcTemplate jdbc = new JdbcTemplate(shards.shard(shard));
+        int count = shards.shardCount();
+        for (String table : SHARD_ROUTED_TABLES) {
+            long max = jdbc.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+            long next = max + 1 + Math.floorMod(shard - (max + 1), count);
+            jdbc.execute("alter table " + table + " alter column id set increment by " + count);
+            jdbc.execute("alter table " + table + " alter column id restart with " + next);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.department.sharding;
+
+import com.example.department.exception.BusinessValidationException;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Sharded persistence: one pool per {@code department.sharding.shards[n]}, routed by {@link ShardContext}.
+ * Connections are handed out lazily, like the replica setup, so a transaction picks its shard with
+ * {@link ShardRouter#route} before its first statement rather than when it begins. Endpoints marked
+ * {@link SingleDatabase} are refused.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "department.sharding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig implements WebMvcConfigurer {
+
+    public ShardingConfig(
+            ShardingProperties properties,
+            @Value("${department.datasource.replica.enabled:false}") boolean replicaEnabled,
+            @Value("${department.read-model.enabled:false}") boolean readModelEnabled) {
+        if (properties.shards().isEmpty()) {
+            throw new IllegalStateException("Sharding needs at least one department.sharding.shards entry");
+        }
+        if (replicaEnabled) {
+            throw new IllegalStateException("Sharding cannot be combined with department.datasource.replica");
+        }
+        if (readModelEnabled) {
+            throw new IllegalStateException("Sharding cannot be combined with department.read-model");
+        }
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (handler instanceof HandlerMethod method
+                        && (method.hasMethodAnnotation(SingleDatabase.class)
+                                || AnnotatedElementUtils.hasAnnotation(method.getBeanType(), SingleDatabase.class))) {
+                    throw new BusinessValidationException(
+                            request.getMethod() + " " + request.getRequestURI() + " is not available in sharded mode");
+                }
+                return true;
+            }
+        }).addPathPatterns("/api/**");
+    }
+
+    @Bean
+    ShardRoutingDataSource shardRoutingDataSource(ShardingProperties properties) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (ShardingProperties.Shard shard : properties.shards()) {
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.url())
+                    .username(shard.username())
+                    .password(shard.password())
+                    .build();
+            pool.setPoolName("shard-" + pools.size());
+            pool.setMaximumPoolSize(shard.maximumPoolSize());
+            pools.add(pool);
+        }
+        return new ShardRoutingDataSource(pools);
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(ShardRoutingDataSource shards) {
+        return new LazyConnectionDataSourceProxy(shards);
+    }
+
+    @Bean
+    ShardRouter shardRouter(
+            ShardingProperties properties, ShardRoutingDataSource shards, PlatformTransactionManager transactionManager) {
+        int threads = properties.gatherThreads() > 0 ? properties.gatherThreads() : shards.shardCount() * 2;
+        return ShardRouter.sharded(shards.shardCount(), transactionManager, threads);
+    }
+
+    @Bean
+    ShardDirectory shardDirectory(ShardRoutingDataSource shards) {
+        return new ShardDirectory(shards.shard(0));
+    }
+
+    @Bean
+    ShardSchemaInitializer shardSchemaInitializer(ShardRoutingDataSource shards) {
+        return new ShardSchemaInitializer(shards);
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer shardSchemaIntegration(ShardSchemaInitializer initializer) {
+        IntegratorProvider integrators = () -> List.of(initializer);
+        return properties -> properties.put("hibernate.integrator_provider", integrators);
+    }
+}
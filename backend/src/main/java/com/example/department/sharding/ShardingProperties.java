@@ -0,0 +1,21 @@
+package com.example.department.sharding;
+
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "department.sharding")
+public record ShardingProperties(
+        boolean enabled,
+        @DefaultValue List<Shard> shards,
+        @DefaultValue("0") int gatherThreads
+) {
+
+    public record Shard(
+            String url,
+            String username,
+            String password,
+            @DefaultValue("10") int maximumPoolSize
+    ) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.department.sharding;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler method, or every method of a controller, that reads or writes across department trees
+ * in one database pass and has no sharded implementation. Such requests are refused while
+ * {@code department.sharding.enabled} is on.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface SingleDatabase {
+}
@@ -0,0 +1,174 @@
+package com.example.department.snapshot;
+
+import com.example.department.dto.SnapshotResponse;
+import com.example.department.service.DepartmentChangedEvent;
+import com.example.department.service.EmployeeEmailFilter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Saves the whole department catalog to a snapshot file and restores it into an empty database, so an
+ * in-memory database can be restarted warm instead of reseeded. With
+ * {@code department.snapshot.restore-on-startup} the file is restored before any other startup runner
+ * (in particular before the sample data seed), and with {@code department.snapshot.save-on-shutdown}
+ * it is rewritten when the application context closes.
+ *
+ * <p>A snapshot that fails its checks stops the startup rather than being skipped: carrying on with an
+ * empty database would otherwise overwrite the file on the next shutdown.
+ */
+@Component
+// Each shard would need its own file; sharded deployments rely on their databases' own persistence.
+@ConditionalOnExpression("${department.snapshot.enabled:true} and !${department.sharding.enabled:false}")
+public class DepartmentSnapshots implements ApplicationRunner, Ordered, ApplicationListener<ContextClosedEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(DepartmentSnapshots.class);
+
+    private static final String STORED_ROWS = """
+            select (select count(*) from departments) + (select count(*) from employees)
+                 + (select count(*) from employees_archive)""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final ApplicationEventPublisher events;
+    private final EmployeeEmailFilter emailFilter;
+    private final Path path;
+    private final boolean restoreOnStartup;
+    private final boolean saveOnShutdown;
+    private final int batchSize;
+    private volatile boolean restoreFailed;
+
+    public DepartmentSnapshots(
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            ApplicationEventPublisher events,
+            ObjectProvider<EmployeeEmailFilter> emailFilter,
+            @Value("${department.snapshot.path:data/departments.snapshot}") String path,
+            @Value("${department.snapshot.restore-on-startup:false}") boolean restoreOnStartup,
+            @Value("${department.snapshot.save-on-shutdown:false}") boolean saveOnShutdown,
+            @Value("${department.snapshot.batch-size:10000}") int batchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(batchSize);
+        // Serializable so all four tables are read from the same point in time.
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.readTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.events = events;
+        this.emailFilter = emailFilter.getIfAvailable();
+        this.path = Path.of(path);
+        this.restoreOnStartup = restoreOnStartup;
+        this.saveOnShutdown = saveOnShutdown;
+        this.batchSize = batchSize;
+    }
+
+    public SnapshotResponse save() {
+        return save(path);
+    }
+
+    public SnapshotResponse save(Path target) {
+        SnapshotResponse saved = readTransaction.execute(status -> new SnapshotWriter(jdbcTemplate).write(target));
+        log.info("Saved {} departments, {} employees and {} archived employees to {} ({} KiB) in {} ms",
+                saved.departments(), saved.employees(), saved.archivedEmployees(), target, saved.bytes() / 1024,
+                saved.elapsedMillis());
+        return saved;
+    }
+
+    /** Restores {@code source} into an empty database; refuses to run if any department or employee exists. */
+    public SnapshotResponse restore(Path source) {
+        long started = System.nanoTime();
+        SnapshotReader snapshot = SnapshotReader.open(source);
+        writeTransaction.executeWithoutResult(status -> {
+            if (storedRows() > 0) {
+                throw new IllegalStateException("A snapshot can only be restored into an empty database");
+            }
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                snapshot.loadInto(connection, batchSize);
+                return null;
+            });
+            // Read models and caches reload once this commits.
+            events.publishEvent(DepartmentChangedEvent.catalogSynced());
+        });
+        alignIdentities();
+        if (emailFilter != null) {
+            emailFilter.rebuild();
+        }
+        SnapshotResponse restored = snapshot.describe((System.nanoTime() - started) / 1_000_000);
+        log.info("Restored {} departments, {} employees and {} archived employees from {} in {} ms",
+                restored.departments(), restored.employees(), restored.archivedEmployees(), source,
+                restored.elapsedMillis());
+        return restored;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!restoreOnStartup) {
+            return;
+        }
+        if (!Files.exists(path)) {
+            log.info("No snapshot at {}; starting without one", path);
+            return;
+        }
+        if (storedRows() > 0) {
+            log.info("Database already holds data; not restoring {}", path);
+            return;
+        }
+        try {
+            restore(path);
+        } catch (RuntimeException ex) {
+            restoreFailed = true;
+            throw ex;
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        // Before DataInitializer, which only seeds an empty database.
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public void onApplicationEvent(ContextClosedEvent event) {
+        if (!saveOnShutdown || restoreFailed) {
+            return;
+        }
+        try {
+            save();
+        } catch (RuntimeException ex) {
+            log.warn("Saving the snapshot on shutdown failed", ex);
+        }
+    }
+
+    private long storedRows() {
+        return jdbcTemplate.queryForObject(STORED_ROWS, Long.class);
+    }
+
+    // H2 syntax, as in ShardSchemaInitializer. Restored rows carry explicit ids, so generation has to
+    // continue above them; archived rows keep their employee ids and count too.
+    private void alignIdentities() {
+        long departments = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from departments", Long.class);
+        long employees = jdbcTemplate.queryForObject("""
+                select greatest((select coalesce(max(id), 0) from employees),
+                                (select coalesce(max(id), 0) from employees_archive))""", Long.class);
+        jdbcTemplate.execute("alter table departments alter column id restart with " + (departments + 1));
+        jdbcTemplate.execute("alter table employees alter column id restart with " + (employees + 1));
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.department.snapshot;
+
+import java.nio.file.Path;
+
+/** The snapshot file is truncated, corrupted or was written by an incompatible version. */
+public class InvalidSnapshotException extends RuntimeException {
+
+    public InvalidSnapshotException(Path path, String reason) {
+        super("Invalid snapshot " + path + ": " + reason);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.department.snapshot;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Layout of a department snapshot file. Numbers are little-endian.
+ *
+ * <pre>
+ * header, 128 bytes
+ *     0  8 bytes  magic "DEPTSNAP"
+ *     8  int      format version
+ *    12  int      section count
+ *    16  long     written at, epoch millis
+ *    24  per section, in {@link Section} order: long records, long bytes, int CRC32C of the section
+ *   104  zero padding
+ *   124  int      CRC32C of bytes 0..123
+ * sections, back to back in {@link Section} order
+ * </pre>
+ *
+ * Records are fixed sequences of fields. Strings are a short UTF-8 length and the bytes, dates an int
+ * epoch day, money a long count of cents, timestamps a long epoch second, an int nano and an int offset
+ * in seconds. Nulls are written as {@link #NULL_STRING}, {@link #NULL_INT} or {@link #NULL_LONG}.
+ */
+final class SnapshotFormat {
+
+    static final byte[] MAGIC = "DEPTSNAP".getBytes(StandardCharsets.US_ASCII);
+    // Bump on any layout change, including a change to EmploymentStatus, which is stored by ordinal.
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 128;
+    static final int SECTION_TABLE_OFFSET = 24;
+    static final int SECTION_ENTRY_BYTES = 20;
+    static final int HEADER_CRC_OFFSET = 124;
+
+    static final short NULL_STRING = -1;
+    static final int NULL_INT = Integer.MIN_VALUE;
+    static final long NULL_LONG = Long.MIN_VALUE;
+
+    enum Section {
+        /** Parents before children, so parent_id always points at a department already loaded. */
+        DEPARTMENTS,
+        DEPARTMENT_CLOSURE,
+        EMPLOYEES,
+        ARCHIVED_EMPLOYEES
+    }
+
+    private SnapshotFormat() {
+    }
+}
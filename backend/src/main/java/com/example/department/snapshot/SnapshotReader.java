@@ -0,0 +1,276 @@
+package com.example.department.snapshot;
+
+import com.example.department.domain.EmploymentStatus;
+import com.example.department.dto.SnapshotResponse;
+import com.example.department.snapshot.SnapshotFormat.Section;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * A snapshot file (see {@link SnapshotFormat}) mapped into memory. {@link #open} checks the magic, the
+ * format version and every checksum before anything is decoded, so a damaged file is rejected without
+ * touching the database. {@link #loadInto} then decodes each record straight into the parameters of a
+ * batched insert with explicit ids, bypassing JPA, id generation and the rollup bookkeeping the
+ * service layer would redo row by row.
+ *
+ * <p>A file is mapped as one buffer and so must stay below 2 GiB.
+ */
+public final class SnapshotReader {
+
+    private static final String INSERT_DEPARTMENT = """
+            insert into departments (id, parent_id, name, code, description, location, head, annual_budget,
+                                     created_at, updated_at, subtree_headcount, subtree_budget)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private static final String INSERT_CLOSURE =
+            "insert into department_closure (ancestor_id, descendant_id, depth) values (?, ?, ?)";
+
+    private static final String INSERT_EMPLOYEE = """
+            insert into employees (id, department_id, first_name, last_name, email, job_title, status,
+                                   start_date, end_date)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private static final String INSERT_ARCHIVED_EMPLOYEE = """
+            insert into employees_archive (id, department_id, first_name, last_name, email, job_title, status,
+                                           start_date, end_date, archived_at)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private static final EmploymentStatus[] STATUSES = EmploymentStatus.values();
+
+    private final Path path;
+    private final long size;
+    private final long[] records;
+    private final ByteBuffer[] sections;
+
+    private SnapshotReader(Path path, long size, long[] records, ByteBuffer[] sections) {
+        this.path = path;
+        this.size = size;
+        this.records = records;
+        this.sections = sections;
+    }
+
+    public static SnapshotReader open(Path path) {
+        MappedByteBuffer file;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < SnapshotFormat.HEADER_BYTES) {
+                throw new InvalidSnapshotException(path, "shorter than the header");
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new InvalidSnapshotException(path, "larger than 2 GiB");
+            }
+            file = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read snapshot " + path, ex);
+        }
+        file.order(ByteOrder.LITTLE_ENDIAN);
+
+        byte[] magic = new byte[SnapshotFormat.MAGIC.length];
+        file.get(0, magic);
+        if (!Arrays.equals(magic, SnapshotFormat.MAGIC)) {
+            throw new InvalidSnapshotException(path, "not a department snapshot");
+        }
+        int version = file.getInt(8);
+        if (version != SnapshotFormat.VERSION) {
+            throw new InvalidSnapshotException(path,
+                    "format version " + version + " is not supported, expected " + SnapshotFormat.VERSION);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(file.slice(0, SnapshotFormat.HEADER_CRC_OFFSET));
+        if ((int) crc.getValue() != file.getInt(SnapshotFormat.HEADER_CRC_OFFSET)) {
+            throw new InvalidSnapshotException(path, "header checksum mismatch");
+        }
+        Section[] layout = Section.values();
+        if (file.getInt(12) != layout.length) {
+            throw new InvalidSnapshotException(path, "expected " + layout.length + " sections");
+        }
+
+        long[] records = new long[layout.length];
+        ByteBuffer[] sections = new ByteBuffer[layout.length];
+        long offset = SnapshotFormat.HEADER_BYTES;
+        for (Section section : layout) {
+            int entry = SnapshotFormat.SECTION_TABLE_OFFSET + section.ordinal() * SnapshotFormat.SECTION_ENTRY_BYTES;
+            long length = file.getLong(entry + 8);
+            if (length < 0 || offset + length > file.capacity()) {
+                throw new InvalidSnapshotException(path, section + " section is truncated");
+            }
+            ByteBuffer bytes = file.slice((int) offset, (int) length).order(ByteOrder.LITTLE_ENDIAN);
+            crc.reset();
+            crc.update(bytes.duplicate());
+            if ((int) crc.getValue() != file.getInt(entry + 16)) {
+                throw new InvalidSnapshotException(path, section + " section checksum mismatch");
+            }
+            records[section.ordinal()] = file.getLong(entry);
+            sections[section.ordinal()] = bytes;
+            offset += length;
+        }
+        if (offset != file.capacity()) {
+            throw new InvalidSnapshotException(path, "unexpected bytes after the last section");
+        }
+        return new SnapshotReader(path, file.capacity(), records, sections);
+    }
+
+    public SnapshotResponse describe(long elapsedMillis) {
+        return new SnapshotResponse(path.toString(),
+                records[Section.DEPARTMENTS.ordinal()],
+                records[Section.EMPLOYEES.ordinal()],
+                records[Section.ARCHIVED_EMPLOYEES.ordinal()],
+                size,
+                elapsedMillis);
+    }
+
+    /**
+     * Inserts every record, {@code batchSize} rows per JDBC batch. The tables must be empty; the caller
+     * owns the transaction and realigns identity columns afterwards.
+     */
+    public void loadInto(Connection connection, int batchSize) throws SQLException {
+        load(connection, Section.DEPARTMENTS, INSERT_DEPARTMENT, batchSize, (in, ps) -> {
+            ps.setLong(1, in.getLong());
+            ps.setObject(2, in.getNullableLong(), Types.BIGINT);
+            ps.setString(3, in.getString());
+            ps.setString(4, in.getString());
+            ps.setString(5, in.getString());
+            ps.setString(6, in.getString());
+            ps.setString(7, in.getString());
+            ps.setObject(8, in.getCents(), Types.NUMERIC);
+            ps.setObject(9, in.getTimestamp(), Types.TIMESTAMP_WITH_TIMEZONE);
+            ps.setObject(10, in.getTimestamp(), Types.TIMESTAMP_WITH_TIMEZONE);
+            ps.setLong(11, in.getLong());
+            ps.setBigDecimal(12, in.getCents());
+        });
+        load(connection, Section.DEPARTMENT_CLOSURE, INSERT_CLOSURE, batchSize, (in, ps) -> {
+            ps.setLong(1, in.getLong());
+            ps.setLong(2, in.getLong());
+            ps.setInt(3, in.getInt());
+        });
+        load(connection, Section.EMPLOYEES, INSERT_EMPLOYEE, batchSize, this::bindEmployee);
+        load(connection, Section.ARCHIVED_EMPLOYEES, INSERT_ARCHIVED_EMPLOYEE, batchSize, (in, ps) -> {
+            bindEmployee(in, ps);
+            ps.setObject(10, in.getTimestamp(), Types.TIMESTAMP_WITH_TIMEZONE);
+        });
+    }
+
+    private void bindEmployee(Decoder in, PreparedStatement ps) throws SQLException {
+        ps.setLong(1, in.getLong());
+        ps.setObject(2, in.getNullableLong(), Types.BIGINT);
+        ps.setString(3, in.getString());
+        ps.setString(4, in.getString());
+        ps.setString(5, in.getString());
+        ps.setString(6, in.getString());
+        int status = in.getByte();
+        if (status < 0 || status >= STATUSES.length) {
+            throw new InvalidSnapshotException(path, "unknown employment status " + status);
+        }
+        ps.setString(7, STATUSES[status].name());
+        ps.setObject(8, in.getDate(), Types.DATE);
+        ps.setObject(9, in.getDate(), Types.DATE);
+    }
+
+    private void load(Connection connection, Section section, String sql, int batchSize, Binder binder)
+            throws SQLException {
+        Decoder in = new Decoder(sections[section.ordinal()].duplicate().order(ByteOrder.LITTLE_ENDIAN));
+        long count = records[section.ordinal()];
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (long record = 1; record <= count; record++) {
+                binder.bind(in, statement);
+                statement.addBatch();
+                if (record % batchSize == 0) {
+                    statement.executeBatch();
+                }
+            }
+            if (count % batchSize != 0) {
+                statement.executeBatch();
+            }
+        } catch (BufferUnderflowException ex) {
+            throw new InvalidSnapshotException(path, section + " section ends before its last record");
+        }
+        if (in.buffer.hasRemaining()) {
+            throw new InvalidSnapshotException(path, section + " section has bytes after its last record");
+        }
+    }
+
+    @FunctionalInterface
+    private interface Binder {
+
+        void bind(Decoder in, PreparedStatement statement) throws SQLException;
+    }
+
+    private static final class Decoder {
+
+        private final ByteBuffer buffer;
+        private byte[] scratch = new byte[256];
+
+        Decoder(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        int getByte() {
+            return buffer.get();
+        }
+
+        int getInt() {
+            return buffer.getInt();
+        }
+
+        long getLong() {
+            return buffer.getLong();
+        }
+
+        Long getNullableLong() {
+            long value = buffer.getLong();
+            return value == SnapshotFormat.NULL_LONG ? null : value;
+        }
+
+        String getString() {
+            short length = buffer.getShort();
+            if (length == SnapshotFormat.NULL_STRING) {
+                return null;
+            }
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        LocalDate getDate() {
+            int epochDay = buffer.getInt();
+            return epochDay == SnapshotFormat.NULL_INT ? null : LocalDate.ofEpochDay(epochDay);
+        }
+
+        BigDecimal getCents() {
+            long cents = buffer.getLong();
+            return cents == SnapshotFormat.NULL_LONG ? null : BigDecimal.valueOf(cents, 2);
+        }
+
+        OffsetDateTime getTimestamp() {
+            long epochSecond = buffer.getLong();
+            int nano = buffer.getInt();
+            int offsetSeconds = buffer.getInt();
+            if (epochSecond == SnapshotFormat.NULL_LONG) {
+                return null;
+            }
+            return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano),
+                    ZoneOffset.ofTotalSeconds(offsetSeconds));
+        }
+    }
+}
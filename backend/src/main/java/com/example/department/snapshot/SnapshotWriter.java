@@ -0,0 +1,268 @@
+package com.example.department.snapshot;
+
+import com.example.department.domain.EmploymentStatus;
+import com.example.department.dto.SnapshotResponse;
+import com.example.department.snapshot.SnapshotFormat.Section;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.zip.CRC32C;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Streams every department, closure row, employee and archived employee into a snapshot file (see
+ * {@link SnapshotFormat}). Rows are encoded straight from the result sets into a direct buffer that is
+ * checksummed and written out whenever it fills. The file is written next to the target and moved into
+ * place only once complete and forced to disk, so a crash never leaves a half-written snapshot behind.
+ *
+ * <p>The caller provides the transaction; it should see one consistent state of all four tables.
+ */
+public class SnapshotWriter {
+
+    private static final String DEPARTMENTS = """
+            select d.id, d.parent_id, d.name, d.code, d.description, d.location, d.head, d.annual_budget,
+                   d.created_at, d.updated_at, d.subtree_headcount, d.subtree_budget
+            from departments d
+            left join (select descendant_id, max(depth) as level from department_closure group by descendant_id) t
+              on t.descendant_id = d.id
+            order by coalesce(t.level, 0), d.id""";
+
+    private static final String DEPARTMENT_CLOSURE =
+            "select ancestor_id, descendant_id, depth from department_closure";
+
+    private static final String EMPLOYEES = """
+            select id, department_id, first_name, last_name, email, job_title, status, start_date, end_date
+            from employees""";
+
+    private static final String ARCHIVED_EMPLOYEES = """
+            select id, department_id, first_name, last_name, email, job_title, status, start_date, end_date,
+                   archived_at
+            from employees_archive""";
+
+    private static final int BUFFER_BYTES = 1 << 20;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SnapshotWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public SnapshotResponse write(Path target) {
+        long started = System.nanoTime();
+        Path directory = target.toAbsolutePath().getParent();
+        Path partial = null;
+        try {
+            Files.createDirectories(directory);
+            partial = Files.createTempFile(directory, target.getFileName().toString(), ".partial");
+            long[] records = new long[Section.values().length];
+            long size;
+            try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.WRITE)) {
+                Encoder out = new Encoder(channel);
+                ByteBuffer header = ByteBuffer.allocate(SnapshotFormat.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                header.put(SnapshotFormat.MAGIC)
+                        .putInt(SnapshotFormat.VERSION)
+                        .putInt(Section.values().length)
+                        .putLong(System.currentTimeMillis());
+                for (Section section : Section.values()) {
+                    out.begin();
+                    switch (section) {
+                        case DEPARTMENTS -> jdbcTemplate.query(DEPARTMENTS, rs -> {
+                            writeDepartment(rs, out);
+                        });
+                        case DEPARTMENT_CLOSURE -> jdbcTemplate.query(DEPARTMENT_CLOSURE, rs -> {
+                            writeClosure(rs, out);
+                        });
+                        case EMPLOYEES -> jdbcTemplate.query(EMPLOYEES, rs -> {
+                            writeEmployee(rs, out);
+                        });
+                        case ARCHIVED_EMPLOYEES -> jdbcTemplate.query(ARCHIVED_EMPLOYEES, rs -> {
+                            writeEmployee(rs, out);
+                            out.putTimestamp(rs.getObject(10, OffsetDateTime.class));
+                        });
+                    }
+                    out.end();
+                    records[section.ordinal()] = out.records;
+                    header.putLong(out.records).putLong(out.bytes).putInt((int) out.crc.getValue());
+                }
+                CRC32C headerCrc = new CRC32C();
+                headerCrc.update(header.array(), 0, SnapshotFormat.HEADER_CRC_OFFSET);
+                header.putInt(SnapshotFormat.HEADER_CRC_OFFSET, (int) headerCrc.getValue());
+                header.clear();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+                channel.force(true);
+                size = channel.size();
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            partial = null;
+            return new SnapshotResponse(target.toString(),
+                    records[Section.DEPARTMENTS.ordinal()],
+                    records[Section.EMPLOYEES.ordinal()],
+                    records[Section.ARCHIVED_EMPLOYEES.ordinal()],
+                    size,
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot write snapshot " + target, ex);
+        } finally {
+            if (partial != null) {
+                try {
+                    Files.deleteIfExists(partial);
+                } catch (IOException ignored) {
+                    // Only a leftover temporary file; the target was never touched.
+                }
+            }
+        }
+    }
+
+    private static void writeDepartment(ResultSet rs, Encoder out) throws SQLException {
+        out.record();
+        out.putLong(rs.getLong(1));
+        out.putNullableLong(rs, 2);
+        out.putString(rs.getString(3));
+        out.putString(rs.getString(4));
+        out.putString(rs.getString(5));
+        out.putString(rs.getString(6));
+        out.putString(rs.getString(7));
+        out.putCents(rs.getBigDecimal(8));
+        out.putTimestamp(rs.getObject(9, OffsetDateTime.class));
+        out.putTimestamp(rs.getObject(10, OffsetDateTime.class));
+        out.putLong(rs.getLong(11));
+        out.putCents(rs.getBigDecimal(12));
+    }
+
+    private static void writeClosure(ResultSet rs, Encoder out) throws SQLException {
+        out.record();
+        out.putLong(rs.getLong(1));
+        out.putLong(rs.getLong(2));
+        out.putInt(rs.getInt(3));
+    }
+
+    // Shared by live and archived employees; the archive appends archived_at.
+    private static void writeEmployee(ResultSet rs, Encoder out) throws SQLException {
+        out.record();
+        out.putLong(rs.getLong(1));
+        out.putNullableLong(rs, 2);
+        out.putString(rs.getString(3));
+        out.putString(rs.getString(4));
+        out.putString(rs.getString(5));
+        out.putString(rs.getString(6));
+        out.putByte(EmploymentStatus.valueOf(rs.getString(7)).ordinal());
+        out.putDate(rs.getObject(8, LocalDate.class));
+        out.putDate(rs.getObject(9, LocalDate.class));
+    }
+
+    private static final class Encoder {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32C crc = new CRC32C();
+        private long records;
+        private long bytes;
+
+        Encoder(FileChannel channel) throws IOException {
+            this.channel = channel;
+            channel.position(SnapshotFormat.HEADER_BYTES);
+        }
+
+        void begin() {
+            crc.reset();
+            records = 0;
+            bytes = 0;
+        }
+
+        void end() {
+            flush();
+        }
+
+        void record() {
+            records++;
+        }
+
+        void putByte(int value) {
+            ensure(1);
+            buffer.put((byte) value);
+        }
+
+        void putInt(int value) {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        void putLong(long value) {
+            ensure(8);
+            buffer.putLong(value);
+        }
+
+        void putNullableLong(ResultSet rs, int column) throws SQLException {
+            long value = rs.getLong(column);
+            putLong(rs.wasNull() ? SnapshotFormat.NULL_LONG : value);
+        }
+
+        void putString(String value) {
+            if (value == null) {
+                ensure(2);
+                buffer.putShort(SnapshotFormat.NULL_STRING);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            if (utf8.length > Short.MAX_VALUE) {
+                throw new IllegalStateException("Value too long for a snapshot string: " + utf8.length + " bytes");
+            }
+            ensure(2 + utf8.length);
+            buffer.putShort((short) utf8.length);
+            buffer.put(utf8);
+        }
+
+        void putDate(LocalDate value) {
+            putInt(value == null ? SnapshotFormat.NULL_INT : Math.toIntExact(value.toEpochDay()));
+        }
+
+        void putCents(BigDecimal value) {
+            putLong(value == null ? SnapshotFormat.NULL_LONG : value.movePointRight(2).longValueExact());
+        }
+
+        void putTimestamp(OffsetDateTime value) {
+            ensure(16);
+            if (value == null) {
+                buffer.putLong(SnapshotFormat.NULL_LONG).putInt(0).putInt(0);
+                return;
+            }
+            buffer.putLong(value.toEpochSecond())
+                    .putInt(value.getNano())
+                    .putInt(value.getOffset().getTotalSeconds());
+        }
+
+        private void ensure(int needed) {
+            if (buffer.remaining() < needed) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            bytes += buffer.remaining();
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            buffer.clear();
+        }
+    }
+}
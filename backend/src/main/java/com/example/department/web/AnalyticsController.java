@@ -0,0 +1,42 @@
+package com.example.department.web;
+
+import com.example.department.admission.Admission;
+import com.example.department.admission.TrafficClass;
+import com.example.department.analytics.BudgetAnalyticsEngine;
+import com.example.department.analytics.HeadcountTimeSeries;
+import com.example.department.dto.BudgetAnalyticsResponse;
+import com.example.department.dto.HeadcountTimeSeriesResponse;
+import com.example.department.dto.HeadcountTimeSeriesResponse.Granularity;
+import com.example.department.sharding.SingleDatabase;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/analytics")
+@Admission(TrafficClass.SEARCH)
+@SingleDatabase
+public class AnalyticsController {
+
+    private final BudgetAnalyticsEngine budgetAnalyticsEngine;
+    private final HeadcountTimeSeries headcountTimeSeries;
+
+    public AnalyticsController(BudgetAnalyticsEngine budgetAnalyticsEngine, HeadcountTimeSeries headcountTimeSeries) {
+        this.budgetAnalyticsEngine = budgetAnalyticsEngine;
+        this.headcountTimeSeries = headcountTimeSeries;
+    }
+
+    @GetMapping("/budget")
+    public BudgetAnalyticsResponse budget(@RequestParam(name = "top", defaultValue = "20") int top) {
+        return budgetAnalyticsEngine.compute(Math.max(0, top));
+    }
+
+    @GetMapping("/headcount")
+    public HeadcountTimeSeriesResponse headcount(
+            @RequestParam(name = "departmentId", required = false) Long departmentId,
+            @RequestParam(name = "granularity", defaultValue = "MONTH") Granularity granularity,
+            @RequestParam(name = "years", defaultValue = "3") int years) {
+        return headcountTimeSeries.compute(departmentId, granularity, years);
+    }
+}
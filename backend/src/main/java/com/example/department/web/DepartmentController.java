@@ -1,14 +1,29 @@
 package com.example.department.web;
 
+import com.example.department.admission.Admission;
+import com.example.department.admission.TrafficClass;
+import com.example.department.dto.ArchivedEmployeeResponse;
+import com.example.department.dto.DepartmentBulkRequest;
+import com.example.department.dto.DepartmentBulkResponse;
 import com.example.department.dto.DepartmentDetailResponse;
+import com.example.department.dto.DepartmentParentRequest;
 import com.example.department.dto.DepartmentRequest;
+import com.example.department.dto.DepartmentRollupResponse;
 import com.example.department.dto.DepartmentSummaryResponse;
 import com.example.department.dto.EmployeeRequest;
 import com.example.department.dto.EmployeeResponse;
+import com.example.department.readmodel.DepartmentSummaryReadModel;
+import com.example.department.service.CoalescingDepartmentReader;
+import com.example.department.service.DepartmentBulkUpsertService;
+import com.example.department.service.DepartmentFieldSelection;
 import com.example.department.service.DepartmentService;
+import com.example.department.service.SparseDepartmentReader;
+import com.example.department.sharding.SingleDatabase;
 import jakarta.validation.Valid;
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -25,19 +40,62 @@ import org.springframework.web.bind.annotation.RestController;
 public class DepartmentController {
 
     private final DepartmentService departmentService;
+    private final DepartmentBulkUpsertService bulkUpsertService;
+    private final CoalescingDepartmentReader reader;
+    private final DepartmentSummaryReadModel readModel;
+    private final SparseDepartmentReader sparseReader;
 
-    public DepartmentController(DepartmentService departmentService) {
+    public DepartmentController(
+            DepartmentService departmentService,
+            DepartmentBulkUpsertService bulkUpsertService,
+            CoalescingDepartmentReader reader,
+            ObjectProvider<DepartmentSummaryReadModel> readModel,
+            SparseDepartmentReader sparseReader) {
         this.departmentService = departmentService;
+        this.bulkUpsertService = bulkUpsertService;
+        this.reader = reader;
+        this.sparseReader = sparseReader;
+        this.readModel = readModel.getIfAvailable();
     }
 
+    // The busiest endpoint: served from the read model or one coalesced query, so it is plain READ traffic.
     @GetMapping
-    public List<DepartmentSummaryResponse> list(@RequestParam(name = "q", required = false) String query) {
-        return departmentService.listDepartments(query);
+    public List<DepartmentSummaryResponse> list() {
+        return listSummaries(null);
+    }
+
+    @GetMapping(params = {"q", "!fields"})
+    @Admission(TrafficClass.SEARCH)
+    public List<DepartmentSummaryResponse> search(@RequestParam("q") String query) {
+        return listSummaries(query);
+    }
+
+    @GetMapping(params = "fields")
+    @Admission(TrafficClass.SEARCH)
+    public List<Map<String, Object>> listFields(
+            @RequestParam(name = "q", required = false) String query, @RequestParam("fields") String fields) {
+        return sparseReader.listDepartments(query, DepartmentFieldSelection.forSummary(fields));
     }
 
     @GetMapping("/{id}")
     public DepartmentDetailResponse get(@PathVariable Long id) {
-        return departmentService.getDepartment(id);
+        return reader.getDepartment(id);
+    }
+
+    @GetMapping(path = "/{id}", params = "fields")
+    public Map<String, Object> getFields(@PathVariable Long id, @RequestParam("fields") String fields) {
+        return sparseReader.getDepartment(id, DepartmentFieldSelection.forDetail(fields));
+    }
+
+    @GetMapping("/{id}/subtree")
+    @Admission(TrafficClass.SEARCH)
+    public List<DepartmentSummaryResponse> subtree(@PathVariable Long id) {
+        return departmentService.listDescendants(id);
+    }
+
+    @GetMapping("/{id}/rollup")
+    public DepartmentRollupResponse rollup(@PathVariable Long id) {
+        return departmentService.getRollup(id);
     }
 
     @PostMapping
@@ -52,6 +110,19 @@ public class DepartmentController {
         return departmentService.updateDepartment(id, request);
     }
 
+    // Unlike PUT /{id}, a null parentId here moves the department to the top level.
+    @PutMapping("/{id}/parent")
+    public DepartmentDetailResponse move(@PathVariable Long id, @RequestBody DepartmentParentRequest request) {
+        departmentService.moveDepartment(id, request.parentId());
+        return departmentService.getDepartment(id);
+    }
+
+    @PutMapping("/bulk")
+    @SingleDatabase
+    public DepartmentBulkResponse bulkUpsert(@Valid @RequestBody DepartmentBulkRequest request) {
+        return bulkUpsertService.upsert(request.departments());
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         departmentService.deleteDepartment(id);
@@ -66,9 +137,25 @@ public class DepartmentController {
                 .body(employee);
     }
 
+    @GetMapping("/{id}/employees/archived")
+    @Admission(TrafficClass.SEARCH)
+    public List<ArchivedEmployeeResponse> archivedEmployees(
+            @PathVariable Long id,
+            @RequestParam(name = "page", defaultValue = "0") int page,
+            @RequestParam(name = "size", defaultValue = "50") int size) {
+        return departmentService.listArchivedEmployees(id, Math.max(0, page), Math.min(Math.max(1, size), 500));
+    }
+
     @DeleteMapping("/{departmentId}/employees/{employeeId}")
     public ResponseEntity<Void> removeEmployee(@PathVariable Long departmentId, @PathVariable Long employeeId) {
         departmentService.removeEmployee(departmentId, employeeId);
         return ResponseEntity.noContent().build();
     }
+
+    private List<DepartmentSummaryResponse> listSummaries(String query) {
+        if (readModel != null) {
+            return readModel.list(query);
+        }
+        return reader.listDepartments(query);
+    }
 }
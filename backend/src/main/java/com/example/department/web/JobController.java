@@ -0,0 +1,70 @@
+package com.example.department.web;
+
+import com.example.department.domain.JobType;
+import com.example.department.dto.DepartmentBulkRequest;
+import com.example.department.dto.DepartmentMovesRequest;
+import com.example.department.dto.JobResponse;
+import com.example.department.dto.SubtreeDeleteRequest;
+import com.example.department.job.DepartmentJobService;
+import com.example.department.sharding.SingleDatabase;
+import jakarta.validation.Valid;
+import java.net.URI;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/jobs")
+@SingleDatabase
+public class JobController {
+
+    private final DepartmentJobService jobService;
+
+    public JobController(DepartmentJobService jobService) {
+        this.jobService = jobService;
+    }
+
+    @GetMapping
+    public List<JobResponse> list() {
+        return jobService.listJobs();
+    }
+
+    @GetMapping("/{id}")
+    public JobResponse get(@PathVariable Long id) {
+        return jobService.getJob(id);
+    }
+
+    @PostMapping("/imports")
+    public ResponseEntity<JobResponse> importDepartments(@Valid @RequestBody DepartmentBulkRequest request) {
+        return accepted(jobService.submit(JobType.DEPARTMENT_IMPORT, request));
+    }
+
+    @PostMapping("/moves")
+    public ResponseEntity<JobResponse> moveDepartments(@Valid @RequestBody DepartmentMovesRequest request) {
+        return accepted(jobService.submit(JobType.DEPARTMENT_MOVES, request));
+    }
+
+    @PostMapping("/subtree-deletes")
+    public ResponseEntity<JobResponse> deleteSubtree(@Valid @RequestBody SubtreeDeleteRequest request) {
+        return accepted(jobService.submit(JobType.SUBTREE_DELETE, request));
+    }
+
+    @PostMapping("/{id}/cancel")
+    public JobResponse cancel(@PathVariable Long id) {
+        return jobService.cancel(id);
+    }
+
+    @PostMapping("/{id}/restart")
+    public ResponseEntity<JobResponse> restart(@PathVariable Long id) {
+        return accepted(jobService.restart(id));
+    }
+
+    private static ResponseEntity<JobResponse> accepted(JobResponse job) {
+        return ResponseEntity.accepted().location(URI.create("/api/jobs/" + job.id())).body(job);
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.department.web;
 
 import com.example.department.exception.BusinessValidationException;
+import com.example.department.exception.CapacityExceededException;
 import com.example.department.exception.DuplicateResourceException;
 import com.example.department.exception.ResourceNotFoundException;
+import com.example.department.exception.TooManyRequestsException;
 import java.time.OffsetDateTime;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -47,6 +49,18 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
         return ResponseEntity.badRequest().body(withMessage(HttpStatus.BAD_REQUEST, ex.getMessage()));
     }
 
+    @ExceptionHandler(CapacityExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleCapacity(CapacityExceededException ex) {
+        HttpStatus status = ex instanceof TooManyRequestsException
+                ? HttpStatus.TOO_MANY_REQUESTS
+                : HttpStatus.SERVICE_UNAVAILABLE;
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+        if (ex.getRetryAfter() != null) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())));
+        }
+        return response.body(withMessage(status, ex.getMessage()));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGeneric(Exception ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
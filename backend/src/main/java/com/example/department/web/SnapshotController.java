@@ -0,0 +1,29 @@
+package com.example.department.web;
+
+import com.example.department.admission.Admission;
+import com.example.department.admission.TrafficClass;
+import com.example.department.dto.SnapshotResponse;
+import com.example.department.snapshot.DepartmentSnapshots;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/snapshots")
+@ConditionalOnExpression("${department.snapshot.enabled:true} and !${department.sharding.enabled:false}")
+public class SnapshotController {
+
+    private final DepartmentSnapshots snapshots;
+
+    public SnapshotController(DepartmentSnapshots snapshots) {
+        this.snapshots = snapshots;
+    }
+
+    // Reads every table in one transaction, so it queues with the other long-running work.
+    @PostMapping
+    @Admission(TrafficClass.SEARCH)
+    public SnapshotResponse save() {
+        return snapshots.save();
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.department.perf;
+
+import com.example.department.analytics.BudgetAnalyticsEngine;
+import com.example.department.domain.EmploymentStatus;
+import com.example.department.dto.BudgetAnalyticsResponse;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Compares {@link BudgetAnalyticsEngine} with the same breakdowns computed by SQL GROUP BY queries, over an
+ * in-memory H2 database holding only the columns both sides read.
+ *
+ * <pre>
+ * gradle jmh --args='BudgetAnalyticsBenchmark -p employees=1000000'
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BudgetAnalyticsBenchmark {
+
+    private static final String[] LOCATIONS = {"New York", "Chicago", "Remote", "London", "Berlin", "Tokyo"};
+
+    @Param({"1000"})
+    public int departments;
+
+    @Param({"100000", "1000000"})
+    public int employees;
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private BudgetAnalyticsEngine engine;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:analytics-bench;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table departments (id bigint primary key, code varchar(50), "
+                + "name varchar(150), location varchar(150), annual_budget numeric(15,2))");
+        jdbcTemplate.execute("create table employees (id bigint primary key, department_id bigint, "
+                + "status varchar(20))");
+        SplittableRandom random = new SplittableRandom(42);
+        jdbcTemplate.batchUpdate("insert into departments values (?, ?, ?, ?, ?)", range(departments),
+                1000, (ps, id) -> {
+                    ps.setLong(1, id);
+                    ps.setString(2, "D" + id);
+                    ps.setString(3, "Department " + id);
+                    ps.setString(4, LOCATIONS[id % LOCATIONS.length]);
+                    ps.setBigDecimal(5, BigDecimal.valueOf(random.nextLong(10_000_000, 1_000_000_000), 2));
+                });
+        EmploymentStatus[] statuses = EmploymentStatus.values();
+        jdbcTemplate.batchUpdate("insert into employees values (?, ?, ?)", range(employees), 10_000, (ps, id) -> {
+            ps.setLong(1, id);
+            ps.setLong(2, random.nextInt(departments));
+            ps.setString(3, statuses[random.nextInt(statuses.length)].name());
+        });
+        engine = new BudgetAnalyticsEngine(dataSource, 65536, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void drop() {
+        engine.destroy();
+        jdbcTemplate.execute("drop all objects");
+    }
+
+    @Benchmark
+    public BudgetAnalyticsResponse engine() {
+        return engine.compute(20);
+    }
+
+    @Benchmark
+    public Object[] sqlGroupBy() {
+        String headcounts = "(select department_id, count(*) headcount from employees group by department_id)";
+        List<Map<String, Object>> byLocation = jdbcTemplate.queryForList(
+                "select d.location, count(*), sum(d.annual_budget), coalesce(sum(h.headcount), 0) "
+                        + "from departments d left join " + headcounts + " h on h.department_id = d.id "
+                        + "group by d.location order by sum(d.annual_budget) desc");
+        List<Map<String, Object>> byLocationAndStatus = jdbcTemplate.queryForList(
+                "select d.location, e.status, count(*) from employees e join departments d on d.id = e.department_id "
+                        + "group by d.location, e.status");
+        List<Map<String, Object>> byStatus = jdbcTemplate.queryForList(
+                "select e.status, count(*), sum(d.annual_budget / h.headcount) from employees e "
+                        + "join departments d on d.id = e.department_id "
+                        + "join " + headcounts + " h on h.department_id = d.id group by e.status");
+        List<Map<String, Object>> ranking = jdbcTemplate.queryForList(
+                "select d.id, d.code, d.name, d.location, h.headcount, d.annual_budget, "
+                        + "d.annual_budget / h.headcount per_employee from departments d "
+                        + "join " + headcounts + " h on h.department_id = d.id "
+                        + "order by per_employee desc limit 20");
+        return new Object[] {byLocation, byLocationAndStatus, byStatus, ranking};
+    }
+
+    private static List<Integer> range(int size) {
+        return IntStream.range(0, size).boxed().toList();
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.department.perf;
+
+import com.example.department.BackendApplication;
+import com.example.department.dto.DepartmentRequest;
+import com.example.department.dto.DepartmentSummaryResponse;
+import com.example.department.readmodel.DepartmentSummaryReadModel;
+import com.example.department.repository.DepartmentRepository;
+import com.example.department.service.DepartmentBulkUpsertService;
+import com.example.department.service.DepartmentService;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Measures the heap taken by {@link DepartmentSummaryReadModel} and what one {@code GET /api/departments}
+ * costs with and without it. Starts the application without a web server, seeds {@code --departments}
+ * departments through the bulk upsert (heads from a pool of 500 names, locations from 50 cities), then
+ * reports:
+ *
+ * <ul>
+ *   <li>retained heap: used heap after a full GC, before and after loading the model's columns, and
+ *       again after the first listing has published the summaries. The model is loaded from summaries
+ *       read once beforehand, so no SQL runs between the samples, once sharing the name and code strings
+ *       with in-memory H2 and once with copies of its own, as it would hold with a server database;</li>
+ *   <li>allocation per request: bytes allocated by the calling thread for one listing and one search,
+ *       from the read model and from {@link DepartmentService} (entities loaded through JPA), averaged
+ *       over {@code --requests} calls after a warm-up.</li>
+ * </ul>
+ *
+ * Run with a fixed heap and the serial collector so the GC'd figures are stable, as the
+ * {@code readModelFootprint} task does.
+ *
+ * <pre>
+ * ReadModelFootprint [--departments N] [--requests R]
+ * </pre>
+ */
+public final class ReadModelFootprint {
+
+    private static final int SEED_BATCH = 10_000;
+    private static final double MIB = 1024 * 1024;
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private ReadModelFootprint() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int departments = 100_000;
+        int requests = 5;
+        for (int i = 0; i < args.length; i += 2) {
+            switch (args[i]) {
+                case "--departments" -> departments = Integer.parseInt(args[i + 1]);
+                case "--requests" -> requests = Integer.parseInt(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendApplication.class)
+                .properties(
+                        "spring.main.web-application-type=none",
+                        "spring.datasource.url=jdbc:h2:mem:footprint;DB_CLOSE_DELAY=-1",
+                        "department.read-model.enabled=false",
+                        "logging.level.root=warn")
+                .run()) {
+            seed(context.getBean(DepartmentBulkUpsertService.class), departments);
+            DepartmentService service = context.getBean(DepartmentService.class);
+            DepartmentRepository repository = context.getBean(DepartmentRepository.class);
+            List<DepartmentSummaryResponse> loaded = repository.findAllSummaries();
+            // Everything measured stays reachable, so each sample only adds to the previous one. The first
+            // model warms up the code paths and is not reported.
+            List<Object> kept = new ArrayList<>();
+            retained(new DepartmentSummaryReadModel(servedFrom(loaded, false)), kept);
+
+            long[] shared = retained(new DepartmentSummaryReadModel(servedFrom(loaded, false)), kept);
+            long[] owned = retained(new DepartmentSummaryReadModel(servedFrom(loaded, true)), kept);
+            DepartmentSummaryReadModel model = new DepartmentSummaryReadModel(repository);
+            model.reload();
+
+            System.out.printf("%,d departments listed%n%n", model.size());
+            System.out.println("Retained heap after a full GC");
+            row("read model columns and indexes", shared[0], departments);
+            row("  with its own name and code strings", owned[0], departments);
+            row("read model published summaries", shared[1], departments);
+            System.out.println();
+            System.out.println("Allocated per request");
+            row("read model, list", allocated(() -> model.list(null), requests), departments);
+            row("read model, search ?q=ment 01", allocated(() -> model.list("ment 01"), requests), departments);
+            row("database, list", allocated(() -> service.listDepartments(null), requests), departments);
+            row("database, search ?q=ment 01", allocated(() -> service.listDepartments("ment 01"), requests), departments);
+            Reference.reachabilityFence(kept);
+        }
+    }
+
+    // Heap held by the loaded columns, then added by publishing the summaries.
+    private static long[] retained(DepartmentSummaryReadModel model, List<Object> kept) throws InterruptedException {
+        kept.add(model);
+        long empty = usedAfterGc();
+        model.reload();
+        long columns = usedAfterGc();
+        model.list(null);
+        long published = usedAfterGc();
+        return new long[] {columns - empty, published - columns};
+    }
+
+    // In-memory H2 hands out the String instances it stores, so a model loaded from it shares them with
+    // the database. A server database would not; with copyStrings each load gets strings of its own.
+    private static DepartmentRepository servedFrom(List<DepartmentSummaryResponse> loaded, boolean copyStrings) {
+        return (DepartmentRepository) Proxy.newProxyInstance(
+                DepartmentRepository.class.getClassLoader(), new Class<?>[] {DepartmentRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findAllSummaries")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    if (!copyStrings) {
+                        return loaded;
+                    }
+                    return loaded.stream()
+                            .map(summary -> new DepartmentSummaryResponse(
+                                    summary.id(), copy(summary.name()), copy(summary.code()), copy(summary.head()),
+                                    copy(summary.location()), summary.annualBudget(), summary.employeeCount(),
+                                    summary.updatedAt()))
+                            .toList();
+                });
+    }
+
+    private static String copy(String value) {
+        return value == null ? null : String.valueOf(value.toCharArray());
+    }
+
+    private static void seed(DepartmentBulkUpsertService bulk, int departments) {
+        SplittableRandom random = new SplittableRandom(27);
+        List<DepartmentRequest> batch = new ArrayList<>(SEED_BATCH);
+        for (int i = 0; i < departments; i++) {
+            batch.add(new DepartmentRequest(
+                    String.format("Department %06d", i),
+                    String.format("D%06d", i),
+                    null,
+                    "City " + random.nextInt(50),
+                    "Head " + random.nextInt(500),
+                    BigDecimal.valueOf(random.nextLong(10_000_000, 1_000_000_000), 2)));
+            if (batch.size() == SEED_BATCH || i == departments - 1) {
+                bulk.upsert(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private static long allocated(Supplier<?> request, int requests) {
+        request.get();
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < requests; i++) {
+            request.get();
+        }
+        return (THREADS.getCurrentThreadAllocatedBytes() - before) / requests;
+    }
+
+    // Some garbage is only freed after the finalizer and cleaner threads have run, so collect until the
+    // used heap stops shrinking.
+    private static long usedAfterGc() throws InterruptedException {
+        long used = Long.MAX_VALUE;
+        for (int round = 0; round < 10; round++) {
+            System.gc();
+            System.runFinalization();
+            Thread.sleep(100);
+            long now = MEMORY.getHeapMemoryUsage().getUsed();
+            if (now >= used) {
+                return now;
+            }
+            used = now;
+        }
+        return used;
+    }
+
+    private static void row(String label, long bytes, int departments) {
+        System.out.printf("  %-40s %9.2f MiB %10.1f bytes/department%n",
+                label, bytes / MIB, (double) bytes / departments);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.department.perf;
+
+import com.example.department.domain.EmploymentStatus;
+import com.example.department.dto.DepartmentDetailResponse;
+import com.example.department.dto.EmployeeResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encode and decode time of a {@link DepartmentDetailResponse} in each format the API negotiates, with
+ * the mapper settings the application uses (ISO dates). {@code json-gzip} adds gzip at Tomcat's default
+ * level on top of JSON, as a response from {@code server.compression} costs. The encoded size of each
+ * case is printed once per trial, before the timings.
+ *
+ * <pre>
+ * gradle jmh --args='ResponseEncodingBenchmark -p employees=20000 -p format=json,cbor'
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    private static final String[] TITLES = {"Engineer", "Senior Engineer", "Analyst", "Manager", null};
+
+    @Param({"10", "1000", "20000"})
+    public int employees;
+
+    @Param({"json", "json-gzip", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private boolean gzip;
+    private DepartmentDetailResponse department;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        mapper = switch (format) {
+            case "json", "json-gzip" -> configure(JsonMapper.builder());
+            case "cbor" -> configure(CBORMapper.builder());
+            case "smile" -> configure(SmileMapper.builder());
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        gzip = format.endsWith("-gzip");
+        department = department(employees);
+        encoded = encode();
+        System.out.printf("%n%s, %d employees: %d bytes%n", format, employees, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        if (!gzip) {
+            return mapper.writeValueAsBytes(department);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            mapper.writeValue(out, department);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public DepartmentDetailResponse decode() throws IOException {
+        if (!gzip) {
+            return mapper.readValue(encoded, DepartmentDetailResponse.class);
+        }
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(encoded))) {
+            return mapper.readValue(in, DepartmentDetailResponse.class);
+        }
+    }
+
+    private static ObjectMapper configure(MapperBuilder<?, ?> builder) {
+        return builder.addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    private static DepartmentDetailResponse department(int employeeCount) {
+        EmploymentStatus[] statuses = EmploymentStatus.values();
+        List<EmployeeResponse> staff = IntStream.range(0, employeeCount)
+                .mapToObj(i -> new EmployeeResponse(
+                        (long) i + 1,
+                        "First" + i,
+                        "Last" + (i % 977),
+                        "employee" + i + "@example.com",
+                        TITLES[i % TITLES.length],
+                        statuses[i % statuses.length],
+                        LocalDate.of(2010, 1, 1).plusDays(i % 4000),
+                        i % 7 == 0 ? LocalDate.of(2030, 1, 1) : null))
+                .toList();
+        OffsetDateTime created = OffsetDateTime.of(2020, 3, 1, 9, 30, 0, 0, ZoneOffset.UTC);
+        return new DepartmentDetailResponse(1L, "Engineering", "ENG", null,
+                "Responsible for product development and innovation.", "New York", "Ada Lovelace",
+                new BigDecimal("2500000.00"), created, created.plusDays(30), staff);
+    }
+}
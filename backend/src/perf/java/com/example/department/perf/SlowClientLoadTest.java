@@ -0,0 +1,252 @@
+package com.example.department.perf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares {@code GET /api/departments} (MVC on blocking JDBC) with {@code GET /api/reactive/departments}
+ * (WebFlux on R2DBC, NDJSON) under many slow clients. Launches the application, seeds
+ * {@code --departments} departments through the bulk endpoint, then for each endpoint and each client
+ * count opens that many connections at once. Every client reads its response {@code --chunk-bytes} at a
+ * time with {@code --read-delay-ms} between reads, like a phone on a poor network.
+ *
+ * <p>Once every client has its first bytes, or after {@code --settle-seconds}, the server is sampled:
+ * live JVM threads, busy Tomcat threads, heap in use and RSS. The thread, heap and RSS growth over the
+ * idle sample is divided by the number of requests in flight at that moment. Heap is sampled without
+ * forcing a GC, so compare it across rows of one run rather than read it as an exact size.
+ *
+ * <pre>
+ * SlowClientLoadTest [--base URL] [--clients 50,200,800] [--departments N] [--read-delay-ms D]
+ *                    [--chunk-bytes B] [--settle-seconds S] -- command...
+ * </pre>
+ */
+public final class SlowClientLoadTest {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+    private static final Pattern METRIC_VALUE = Pattern.compile("\"statistic\":\"VALUE\",\"value\":([-0-9.Ee+]+)");
+
+    private SlowClientLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI base = URI.create("http://localhost:8080");
+        int[] clientCounts = {50, 200, 800};
+        int departments = 5_000;
+        int readDelayMs = 20;
+        int chunkBytes = 4_096;
+        int settleSeconds = 10;
+        int separator = Arrays.asList(args).indexOf("--");
+        if (separator < 0 || separator == args.length - 1) {
+            throw new IllegalArgumentException("Expected '-- <command>' after the options");
+        }
+        for (int i = 0; i < separator; i += 2) {
+            switch (args[i]) {
+                case "--base" -> base = URI.create(args[i + 1]);
+                case "--clients" -> clientCounts = Arrays.stream(args[i + 1].split(","))
+                        .mapToInt(value -> Integer.parseInt(value.trim()))
+                        .toArray();
+                case "--departments" -> departments = Integer.parseInt(args[i + 1]);
+                case "--read-delay-ms" -> readDelayMs = Integer.parseInt(args[i + 1]);
+                case "--chunk-bytes" -> chunkBytes = Integer.parseInt(args[i + 1]);
+                case "--settle-seconds" -> settleSeconds = Integer.parseInt(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        List<String> command = List.of(Arrays.copyOfRange(args, separator + 1, args.length));
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            awaitStartup(http, base, process);
+            seed(http, base, departments);
+            System.out.printf("%d departments, %d-byte reads every %d ms%n", departments, chunkBytes, readDelayMs);
+            List<Endpoint> endpoints = List.of(
+                    new Endpoint("blocking", "/api/departments", "application/json"),
+                    new Endpoint("reactive", "/api/reactive/departments", "application/x-ndjson"));
+            for (Endpoint endpoint : endpoints) {
+                for (int clients : clientCounts) {
+                    Row row = run(http, base, process.pid(), endpoint, clients, chunkBytes, readDelayMs, settleSeconds);
+                    System.out.println(row.format(endpoint.label(), clients));
+                }
+            }
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static void awaitStartup(HttpClient http, URI base, Process process) throws Exception {
+        HttpRequest probe = HttpRequest.newBuilder(base.resolve("/actuator/health")).timeout(Duration.ofSeconds(5)).build();
+        long started = System.nanoTime();
+        while (System.nanoTime() - started < STARTUP_TIMEOUT.toNanos()) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Process exited with " + process.exitValue());
+            }
+            try {
+                if (http.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException notYetListening) {
+                // keep polling
+            }
+            Thread.sleep(50);
+        }
+        throw new IllegalStateException("No successful response within " + STARTUP_TIMEOUT);
+    }
+
+    private static void seed(HttpClient http, URI base, int departments) throws Exception {
+        for (int from = 0; from < departments; from += 1_000) {
+            StringBuilder body = new StringBuilder("{\"departments\":[");
+            for (int i = from; i < Math.min(from + 1_000, departments); i++) {
+                if (i > from) {
+                    body.append(',');
+                }
+                body.append(String.format(
+                        "{\"name\":\"Load department %06d\",\"code\":\"LOAD-%06d\",\"location\":\"Remote\","
+                                + "\"head\":\"Load Tester\",\"annualBudget\":125000}", i, i));
+            }
+            body.append("]}");
+            HttpRequest request = HttpRequest.newBuilder(base.resolve("/api/departments/bulk"))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(body.toString()))
+                    .build();
+            int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status != 200) {
+                throw new IllegalStateException("Seeding failed with " + status);
+            }
+        }
+    }
+
+    private static Row run(HttpClient http, URI base, long pid, Endpoint endpoint, int clients, int chunkBytes,
+            int readDelayMs, int settleSeconds) throws Exception {
+        Sample idle = sample(http, base, pid);
+        CountDownLatch firstBytes = new CountDownLatch(clients);
+        AtomicInteger inFlight = new AtomicInteger();
+        long[] completionMillis = new long[clients];
+        int[] statuses = new int[clients];
+        List<Thread> workers = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            int client = i;
+            Thread worker = new Thread(() -> {
+                inFlight.incrementAndGet();
+                long started = System.nanoTime();
+                try {
+                    statuses[client] = slowGet(base, endpoint, chunkBytes, readDelayMs, firstBytes);
+                } finally {
+                    completionMillis[client] = (System.nanoTime() - started) / 1_000_000;
+                    inFlight.decrementAndGet();
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        firstBytes.await(settleSeconds, TimeUnit.SECONDS);
+        int inFlightAtSample = Math.max(1, inFlight.get());
+        Sample loaded = sample(http, base, pid);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        int ok = (int) Arrays.stream(statuses).filter(status -> status == 200).count();
+        long[] sorted = completionMillis.clone();
+        Arrays.sort(sorted);
+        return new Row(ok, clients - ok, sorted[sorted.length / 2], sorted[sorted.length - 1], inFlightAtSample,
+                loaded.threads() - idle.threads(), loaded.busyTomcatThreads(),
+                (loaded.heapBytes() - idle.heapBytes()) / 1024 / inFlightAtSample,
+                (loaded.rssKb() - idle.rssKb()) / inFlightAtSample);
+    }
+
+    // Returns the HTTP status, or 0 if the exchange failed.
+    private static int slowGet(URI base, Endpoint endpoint, int chunkBytes, int readDelayMs, CountDownLatch firstBytes) {
+        boolean counted = false;
+        try (Socket socket = new Socket()) {
+            // A small receive window keeps the server from pushing the whole response into kernel buffers.
+            socket.setReceiveBufferSize(chunkBytes);
+            socket.connect(new InetSocketAddress(base.getHost(), base.getPort()), 5_000);
+            socket.setSoTimeout(120_000);
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET " + endpoint.path() + " HTTP/1.1\r\nHost: " + base.getHost()
+                    + "\r\nAccept: " + endpoint.accept() + "\r\nConnection: close\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            InputStream in = socket.getInputStream();
+            byte[] buffer = new byte[chunkBytes];
+            int status = 0;
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                if (!counted) {
+                    String statusLine = new String(buffer, 0, Math.min(read, 12), StandardCharsets.US_ASCII);
+                    status = statusLine.length() == 12 ? Integer.parseInt(statusLine.substring(9, 12)) : 0;
+                    firstBytes.countDown();
+                    counted = true;
+                }
+                Thread.sleep(readDelayMs);
+            }
+            return status;
+        } catch (IOException | NumberFormatException ex) {
+            return 0;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } finally {
+            if (!counted) {
+                firstBytes.countDown();
+            }
+        }
+    }
+
+    private static Sample sample(HttpClient http, URI base, long pid) throws Exception {
+        return new Sample(
+                (long) metric(http, base, "jvm.threads.live", null),
+                (long) metric(http, base, "tomcat.threads.busy", null),
+                (long) metric(http, base, "jvm.memory.used", "area:heap"),
+                StartupBenchmark.residentSetKb(pid));
+    }
+
+    // -1 when the meter is not registered, e.g. tomcat.threads.busy without server.tomcat.mbeanregistry.enabled.
+    private static double metric(HttpClient http, URI base, String name, String tag) throws Exception {
+        String query = tag == null ? "" : "?tag=" + tag;
+        HttpRequest request = HttpRequest.newBuilder(base.resolve("/actuator/metrics/" + name + query))
+                .timeout(Duration.ofSeconds(10))
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = METRIC_VALUE.matcher(response.body());
+        return response.statusCode() == 200 && matcher.find() ? Double.parseDouble(matcher.group(1)) : -1;
+    }
+
+    record Endpoint(String label, String path, String accept) {
+    }
+
+    record Sample(long threads, long busyTomcatThreads, long heapBytes, long rssKb) {
+    }
+
+    record Row(int ok, int failed, long p50Millis, long maxMillis, int inFlight, long addedThreads,
+            long busyTomcatThreads, long heapKbPerRequest, long rssKbPerRequest) {
+
+        String format(String label, int clients) {
+            return String.format("%-8s %5d clients: %5d ok %4d failed, done p50 %6d ms max %6d ms; "
+                            + "at %d in flight: +%d threads (%d Tomcat busy), %d KiB heap and %d KiB RSS per request",
+                    label, clients, ok, failed, p50Millis, maxMillis, inFlight, addedThreads, busyTomcatThreads,
+                    heapKbPerRequest, rssKbPerRequest);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.department.perf;
+
+import com.example.department.domain.EmploymentStatus;
+import com.example.department.dto.SnapshotResponse;
+import com.example.department.snapshot.SnapshotReader;
+import com.example.department.snapshot.SnapshotWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+/**
+ * Restore time of a full catalog: the memory-mapped snapshot loaded by {@link SnapshotReader} against
+ * H2's own SQL dump ({@code SCRIPT TO} / {@code RUNSCRIPT FROM}) of the same data. Each measured shot
+ * starts from an empty target database; the snapshot target already has the (empty) schema, the script
+ * target creates it from the script. One department in ten is a root with nine children, and a tenth
+ * of the employees are archived.
+ *
+ * <pre>
+ * gradle jmh --args='SnapshotRestoreBenchmark -p employees=1000000'
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SnapshotRestoreBenchmark {
+
+    private static final String TARGET_URL = "jdbc:h2:mem:snapshot-bench-target;DB_CLOSE_DELAY=-1";
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"1000"})
+    public int departments;
+
+    @Param({"1000000"})
+    public int employees;
+
+    private Path directory;
+    private Path snapshot;
+    private Path script;
+
+    @Setup(Level.Trial)
+    public void dump() throws IOException {
+        DriverManagerDataSource source =
+                new DriverManagerDataSource("jdbc:h2:mem:snapshot-bench-source;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(source);
+        createSchema(jdbc);
+        seed(jdbc);
+        directory = Files.createTempDirectory("snapshot-bench");
+        snapshot = directory.resolve("departments.snapshot");
+        script = directory.resolve("departments.sql");
+        SnapshotResponse written = new SnapshotWriter(jdbc).write(snapshot);
+        jdbc.execute("script to '" + script + "'");
+        System.out.printf("%nsnapshot %d KiB in %d ms, SQL script %d KiB%n",
+                written.bytes() / 1024, written.elapsedMillis(), Files.size(script) / 1024);
+        jdbc.execute("drop all objects");
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        Files.deleteIfExists(snapshot);
+        Files.deleteIfExists(script);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public void snapshot(EmptySchema target) throws SQLException {
+        SnapshotReader reader = SnapshotReader.open(snapshot);
+        try (Connection connection = target.dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            reader.loadInto(connection, BATCH_SIZE);
+            connection.commit();
+        }
+    }
+
+    @Benchmark
+    public void sqlScript(EmptyDatabase target) {
+        target.jdbc.execute("runscript from '" + script + "'");
+    }
+
+    @State(Scope.Thread)
+    public static class EmptySchema {
+
+        final DataSource dataSource = new DriverManagerDataSource(TARGET_URL, "sa", "");
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+            jdbc.execute("drop all objects");
+            createSchema(jdbc);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class EmptyDatabase {
+
+        final JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(TARGET_URL, "sa", ""));
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            jdbc.execute("drop all objects");
+        }
+    }
+
+    // The tables as Hibernate creates them for the entities.
+    private static void createSchema(JdbcTemplate jdbc) {
+        jdbc.execute("""
+                create table departments (
+                    id bigint generated by default as identity primary key,
+                    name varchar(120) not null,
+                    code varchar(40) not null constraint uk_department_code unique,
+                    description varchar(500),
+                    location varchar(80),
+                    head varchar(80),
+                    annual_budget numeric(15,2),
+                    created_at timestamp(6) with time zone,
+                    updated_at timestamp(6) with time zone,
+                    parent_id bigint references departments (id),
+                    subtree_headcount bigint not null,
+                    subtree_budget numeric(17,2) not null)""");
+        jdbc.execute("""
+                create table department_closure (
+                    ancestor_id bigint not null,
+                    descendant_id bigint not null,
+                    depth integer not null,
+                    primary key (ancestor_id, descendant_id))""");
+        jdbc.execute("create index idx_department_closure_descendant on department_closure (descendant_id)");
+        jdbc.execute("""
+                create table employees (
+                    id bigint generated by default as identity primary key,
+                    first_name varchar(60) not null,
+                    last_name varchar(60) not null,
+                    email varchar(120) not null constraint uk_employee_email unique,
+                    job_title varchar(80),
+                    status varchar(20) not null,
+                    start_date date,
+                    end_date date,
+                    department_id bigint references departments (id))""");
+        jdbc.execute("create index idx_employees_status_end_date on employees (status, end_date)");
+        jdbc.execute("""
+                create table employees_archive (
+                    id bigint primary key,
+                    first_name varchar(60) not null,
+                    last_name varchar(60) not null,
+                    email varchar(120) not null,
+                    job_title varchar(80),
+                    status varchar(20) not null,
+                    start_date date,
+                    end_date date,
+                    department_id bigint,
+                    archived_at timestamp(6) with time zone not null)""");
+        jdbc.execute("""
+                create index idx_employees_archive_department_end_date
+                on employees_archive (department_id, end_date)""");
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        SplittableRandom random = new SplittableRandom(42);
+        OffsetDateTime now = OffsetDateTime.now();
+        // Ids from 1; every tenth department is a root, the nine after it are its children.
+        jdbc.batchUpdate("""
+                insert into departments (id, name, code, description, location, head, annual_budget, created_at,
+                                         updated_at, parent_id, subtree_headcount, subtree_budget)
+                values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0)""", range(1, departments), 1000, (ps, id) -> {
+            ps.setLong(1, id);
+            ps.setString(2, "Department " + id);
+            ps.setString(3, "D" + id);
+            ps.setString(4, "Generated department number " + id);
+            ps.setString(5, "Location " + id % 7);
+            ps.setString(6, "Head " + id);
+            ps.setBigDecimal(7, BigDecimal.valueOf(random.nextLong(10_000_000, 1_000_000_000), 2));
+            ps.setObject(8, now);
+            ps.setObject(9, now);
+            ps.setObject(10, rootOf(id) == id ? null : (long) rootOf(id));
+        });
+        List<int[]> closure = new ArrayList<>();
+        for (int id = 1; id <= departments; id++) {
+            closure.add(new int[] {id, id, 0});
+            if (rootOf(id) != id) {
+                closure.add(new int[] {rootOf(id), id, 1});
+            }
+        }
+        jdbc.batchUpdate("insert into department_closure values (?, ?, ?)", closure, 1000, (ps, row) -> {
+            ps.setLong(1, row[0]);
+            ps.setLong(2, row[1]);
+            ps.setInt(3, row[2]);
+        });
+
+        EmploymentStatus[] statuses = EmploymentStatus.values();
+        int archived = employees / 10;
+        jdbc.batchUpdate("""
+                insert into employees (id, first_name, last_name, email, job_title, status, start_date, end_date,
+                                       department_id)
+                values (?, ?, ?, ?, ?, ?, ?, ?, ?)""", range(1, employees - archived), BATCH_SIZE, (ps, id) -> {
+            ps.setLong(1, id);
+            ps.setString(2, "First" + id);
+            ps.setString(3, "Last" + id);
+            ps.setString(4, "employee" + id + "@example.com");
+            ps.setString(5, "Engineer");
+            ps.setString(6, statuses[random.nextInt(statuses.length)].name());
+            ps.setObject(7, LocalDate.ofEpochDay(random.nextInt(10_000, 19_000)));
+            ps.setObject(8, null);
+            ps.setLong(9, 1 + random.nextInt(departments));
+        });
+        jdbc.batchUpdate("""
+                insert into employees_archive (id, first_name, last_name, email, job_title, status, start_date,
+                                               end_date, department_id, archived_at)
+                values (?, ?, ?, ?, ?, 'TERMINATED', ?, ?, ?, ?)""",
+                range(employees - archived + 1, employees), BATCH_SIZE, (ps, id) -> {
+                    ps.setLong(1, id);
+                    ps.setString(2, "First" + id);
+                    ps.setString(3, "Last" + id);
+                    ps.setString(4, "employee" + id + "@example.com");
+                    ps.setString(5, "Analyst");
+                    ps.setObject(6, LocalDate.ofEpochDay(10_000));
+                    ps.setObject(7, LocalDate.ofEpochDay(11_000));
+                    ps.setLong(8, 1 + random.nextInt(departments));
+                    ps.setObject(9, now);
+                });
+    }
+
+    private static int rootOf(int id) {
+        return (id - 1) / 10 * 10 + 1;
+    }
+
+    private static List<Integer> range(int first, int last) {
+        return IntStream.rangeClosed(first, last).boxed().toList();
+    }
+}
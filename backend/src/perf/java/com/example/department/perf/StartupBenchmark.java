@@ -0,0 +1,169 @@
+package com.example.department.perf;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Launches the application repeatedly and reports time-to-first-request (process start until the probe
+ * URL answers 200) and the resident set size at that moment. With {@code --load-seconds} it then drives
+ * the probe URL from {@code --load-threads} clients and reports steady-state throughput (second half of
+ * the load window) and the resident set size after the load.
+ *
+ * <pre>
+ * StartupBenchmark [--url URL] [--runs N] [--label NAME] [--load-seconds S] [--load-threads T] -- command...
+ * </pre>
+ */
+public final class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(120);
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = "http://localhost:8080/api/departments";
+        String label = "app";
+        int runs = 5;
+        int loadSeconds = 0;
+        int loadThreads = 16;
+        int separator = Arrays.asList(args).indexOf("--");
+        if (separator < 0 || separator == args.length - 1) {
+            throw new IllegalArgumentException("Expected '-- <command>' after the options");
+        }
+        for (int i = 0; i < separator; i += 2) {
+            switch (args[i]) {
+                case "--url" -> url = args[i + 1];
+                case "--runs" -> runs = Integer.parseInt(args[i + 1]);
+                case "--label" -> label = args[i + 1];
+                case "--load-seconds" -> loadSeconds = Integer.parseInt(args[i + 1]);
+                case "--load-threads" -> loadThreads = Integer.parseInt(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        List<String> command = List.of(Arrays.copyOfRange(args, separator + 1, args.length));
+
+        long[] millis = new long[runs];
+        long[] rssKb = new long[runs];
+        long[] throughput = new long[runs];
+        long[] loadedRssKb = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            Measurement measurement = measure(command, URI.create(url), loadSeconds, loadThreads);
+            millis[run] = measurement.millis();
+            rssKb[run] = measurement.rssKb();
+            throughput[run] = measurement.requestsPerSecond();
+            loadedRssKb[run] = measurement.loadedRssKb();
+            System.out.printf("%s run %d: first request after %d ms, RSS %d MiB%s%n",
+                    label, run + 1, measurement.millis(), measurement.rssKb() / 1024,
+                    loadSummary(loadSeconds, measurement.requestsPerSecond(), measurement.loadedRssKb()));
+        }
+        System.out.printf("%s median: first request after %d ms, RSS %d MiB%s%n",
+                label, median(millis), median(rssKb) / 1024,
+                loadSummary(loadSeconds, median(throughput), median(loadedRssKb)));
+    }
+
+    private static String loadSummary(int loadSeconds, long requestsPerSecond, long loadedRssKb) {
+        if (loadSeconds <= 0) {
+            return "";
+        }
+        return String.format("; steady state %d req/s, RSS under load %d MiB", requestsPerSecond, loadedRssKb / 1024);
+    }
+
+    static Measurement measure(List<String> command, URI probe, int loadSeconds, int loadThreads) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+        HttpRequest request = HttpRequest.newBuilder(probe).timeout(Duration.ofSeconds(5)).GET().build();
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - started < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Process exited with " + process.exitValue());
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        long millis = (System.nanoTime() - started) / 1_000_000;
+                        long rssKb = residentSetKb(process.pid());
+                        if (loadSeconds <= 0) {
+                            return new Measurement(millis, rssKb, 0, 0);
+                        }
+                        long requestsPerSecond = load(client, request, loadSeconds, loadThreads);
+                        return new Measurement(millis, rssKb, requestsPerSecond, residentSetKb(process.pid()));
+                    }
+                } catch (IOException notYetListening) {
+                    // keep polling
+                }
+                Thread.sleep(5);
+            }
+            throw new IllegalStateException("No successful response within " + TIMEOUT);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    // Counts only the second half of the window so JIT warm-up does not skew the steady-state number.
+    static long load(HttpClient client, HttpRequest request, int seconds, int threads) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + seconds * 500_000_000L;
+        long end = start + seconds * 1_000_000_000L;
+        LongAdder completed = new LongAdder();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> {
+                while (System.nanoTime() < end) {
+                    try {
+                        client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (System.nanoTime() >= measureFrom) {
+                            completed.increment();
+                        }
+                    } catch (IOException ex) {
+                        // count only successful exchanges
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return completed.sum() * 2 / seconds;
+    }
+
+    static long residentSetKb(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return 0;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        return 0;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    record Measurement(long millis, long rssKb, long requestsPerSecond, long loadedRssKb) {
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.department.smoke;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Black-box checks against a running build of the backend, typically the native binary. Set
+ * {@code smoke.command} to have the suite launch the application itself (it is started with
+ * {@code --server.port} taken from {@code smoke.port}); otherwise {@code smoke.baseUrl} must point at
+ * an instance that is already running. The tests start once the readiness probe is up: the server
+ * accepts requests before the sample data has been seeded.
+ */
+class NativeSmokeTests {
+
+    private static final HttpClient client = HttpClient.newHttpClient();
+    private static Process application;
+    private static String baseUrl;
+
+    @BeforeAll
+    static void start() throws Exception {
+        String command = System.getProperty("smoke.command");
+        String port = System.getProperty("smoke.port", "18080");
+        baseUrl = System.getProperty("smoke.baseUrl", "http://localhost:" + port);
+        if (command != null && !command.isBlank()) {
+            List<String> arguments = new ArrayList<>(List.of(command.trim().split("\\s+")));
+            arguments.add("--server.port=" + port);
+            application = new ProcessBuilder(arguments).inheritIO().start();
+        }
+        long deadline = System.nanoTime() + Duration.ofSeconds(60).toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                if (get("/actuator/health/readiness").statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException notYetListening) {
+                // keep polling
+            }
+            Thread.sleep(50);
+        }
+        throw new IllegalStateException("Application did not become ready at " + baseUrl);
+    }
+
+    @AfterAll
+    static void stop() throws InterruptedException {
+        if (application != null) {
+            application.destroy();
+            application.waitFor();
+        }
+    }
+
+    @Test
+    void listsSeededDepartments() throws Exception {
+        HttpResponse<String> response = get("/api/departments");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).contains("\"code\":\"ENG\"", "\"employeeCount\":");
+    }
+
+    @Test
+    void createsDepartmentAndEmployee() throws Exception {
+        HttpResponse<String> department = post("/api/departments", """
+                {"name":"Smoke","code":"SMOKE","location":"Lab","annualBudget":1000}""");
+        assertThat(department.statusCode()).isEqualTo(201);
+        String id = extractId(department.body());
+
+        HttpResponse<String> employee = post("/api/departments/" + id + "/employees", """
+                {"firstName":"Native","lastName":"Image","email":"native.image@example.com",
+                 "status":"ACTIVE","startDate":"2024-01-02"}""");
+        assertThat(employee.statusCode()).isEqualTo(201);
+
+        HttpResponse<String> detail = get("/api/departments/" + id);
+        assertThat(detail.body()).contains("native.image@example.com", "\"startDate\":\"2024-01-02\"");
+
+        HttpResponse<String> deleted = client.send(
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/departments/" + id)).DELETE().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(deleted.statusCode()).isEqualTo(204);
+    }
+
+    @Test
+    void validationAndNotFoundErrorsUseErrorBody() throws Exception {
+        HttpResponse<String> invalid = post("/api/departments", "{\"name\":\"\",\"code\":\"\"}");
+        assertThat(invalid.statusCode()).isEqualTo(400);
+        assertThat(invalid.body()).contains("\"errors\"", "\"name\"");
+
+        HttpResponse<String> missing = get("/api/departments/987654321");
+        assertThat(missing.statusCode()).isEqualTo(404);
+        assertThat(missing.body()).contains("Department not found");
+    }
+
+    private static HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> post(String path, String json) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(json))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String extractId(String json) {
+        Matcher matcher = Pattern.compile("\"id\":(\\d+)").matcher(json);
+        assertThat(matcher.find()).isTrue();
+        return matcher.group(1);
+    }
+}
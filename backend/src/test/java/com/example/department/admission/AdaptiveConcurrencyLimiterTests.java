@@ -0,0 +1,90 @@
+package com.example.department.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.department.exception.CapacityExceededException;
+import com.example.department.exception.TooManyRequestsException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTests {
+
+    @Test
+    void shedsAtOnceWhenTheQueueIsFull() {
+        AdaptiveConcurrencyLimiter limiter = fixed(2, 0, Duration.ofSeconds(1));
+        limiter.acquire();
+        limiter.acquire();
+
+        assertThatThrownBy(limiter::acquire).isInstanceOf(TooManyRequestsException.class);
+        assertThat(limiter.shedQueueFull()).isEqualTo(1);
+        assertThat(limiter.inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void queuedRequestIsAdmittedWhenASlotFrees() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = fixed(2, 1, Duration.ofSeconds(5));
+        AdaptiveConcurrencyLimiter.Permit first = limiter.acquire();
+        limiter.acquire();
+
+        CompletableFuture<AdaptiveConcurrencyLimiter.Permit> waiting = CompletableFuture.supplyAsync(limiter::acquire);
+        while (limiter.queued() == 0) {
+            Thread.onSpinWait();
+        }
+        first.release();
+
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isNotNull();
+        assertThat(limiter.inFlight()).isEqualTo(2);
+        assertThat(limiter.queued()).isZero();
+    }
+
+    @Test
+    void queuedRequestTimesOutWith503() {
+        AdaptiveConcurrencyLimiter limiter = fixed(2, 1, Duration.ofMillis(20));
+        limiter.acquire();
+        limiter.acquire();
+
+        assertThatThrownBy(limiter::acquire)
+                .isInstanceOf(CapacityExceededException.class)
+                .isNotInstanceOf(TooManyRequestsException.class);
+        assertThat(limiter.shedTimeout()).isEqualTo(1);
+        assertThat(limiter.queued()).isZero();
+    }
+
+    @Test
+    void limitGrowsWhileLatencyHoldsAndShrinksWhenItClimbs() {
+        AdaptiveConcurrencyLimiter limiter = adaptive(10);
+        long latency = TimeUnit.MILLISECONDS.toNanos(10);
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(latency, limiter.limit());
+        }
+        int grown = limiter.limit();
+        assertThat(grown).isGreaterThan(10);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.onSample(latency * 10, limiter.limit());
+        }
+        assertThat(limiter.limit()).isLessThan(grown);
+    }
+
+    @Test
+    void idleLimiterDoesNotGrow() {
+        AdaptiveConcurrencyLimiter limiter = adaptive(10);
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(10), 1);
+        }
+        assertThat(limiter.limit()).isEqualTo(10);
+    }
+
+    private static AdaptiveConcurrencyLimiter fixed(int limit, int queueCapacity, Duration maxQueueWait) {
+        return new AdaptiveConcurrencyLimiter("test",
+                new AdmissionProperties.Limit(limit, limit, limit, queueCapacity, maxQueueWait), 1.5);
+    }
+
+    private static AdaptiveConcurrencyLimiter adaptive(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter("test",
+                new AdmissionProperties.Limit(initialLimit, 1, 100, 0, Duration.ZERO), 1.5);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.department.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.method.HandlerMethod;
+
+class AdmissionControlInterceptorTests {
+
+    private final AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(Map.of());
+
+    @Test
+    void classifiesByHttpMethodUnlessAnnotated() throws Exception {
+        assertThat(interceptor.classify(handler("get"), "GET")).isEqualTo(TrafficClass.READ);
+        assertThat(interceptor.classify(handler("get"), "HEAD")).isEqualTo(TrafficClass.READ);
+        assertThat(interceptor.classify(handler("get"), "POST")).isEqualTo(TrafficClass.WRITE);
+        assertThat(interceptor.classify(handler("search"), "GET")).isEqualTo(TrafficClass.SEARCH);
+        assertThat(interceptor.classify(new HandlerMethod(new ReportsController(), "export"), "GET"))
+                .isEqualTo(TrafficClass.SEARCH);
+    }
+
+    private static HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new SampleController(), name);
+    }
+
+    static class SampleController {
+
+        public void get() {
+        }
+
+        @Admission(TrafficClass.SEARCH)
+        public void search() {
+        }
+    }
+
+    @Admission(TrafficClass.SEARCH)
+    static class ReportsController {
+
+        public void export() {
+        }
+    }
+}
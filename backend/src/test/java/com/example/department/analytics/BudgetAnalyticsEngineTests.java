@@ -0,0 +1,82 @@
+package com.example.department.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import com.example.department.domain.EmploymentStatus;
+import com.example.department.dto.BudgetAnalyticsResponse;
+import com.example.department.dto.BudgetAnalyticsResponse.DepartmentBudgetRank;
+import com.example.department.dto.BudgetAnalyticsResponse.LocationBreakdown;
+import com.example.department.dto.BudgetAnalyticsResponse.StatusBreakdown;
+import com.example.department.dto.DepartmentRequest;
+import com.example.department.dto.EmployeeRequest;
+import com.example.department.service.DepartmentService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest
+@Import(DepartmentService.class)
+class BudgetAnalyticsEngineTests {
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void breaksDownBudgetAndHeadcount() {
+        Long eng = departmentService.createDepartment(
+                new DepartmentRequest("Engineering", "ENG", null, "Berlin", null, new BigDecimal("900.00"))).id();
+        Long ops = departmentService.createDepartment(
+                new DepartmentRequest("Operations", "OPS", null, "Berlin", null, new BigDecimal("100.00"))).id();
+        departmentService.createDepartment(
+                new DepartmentRequest("Legal", "LEG", null, "Paris", null, new BigDecimal("50.50")));
+        hire(eng, "a@example.com", EmploymentStatus.ACTIVE);
+        hire(eng, "b@example.com", EmploymentStatus.ACTIVE);
+        hire(eng, "c@example.com", EmploymentStatus.ON_LEAVE);
+        hire(ops, "d@example.com", EmploymentStatus.INACTIVE);
+
+        // A chunk size of 2 forces several chunks through the pool.
+        BudgetAnalyticsEngine engine = new BudgetAnalyticsEngine(dataSource, 2, 2);
+        BudgetAnalyticsResponse response;
+        try {
+            response = engine.compute(1);
+        } finally {
+            engine.destroy();
+        }
+
+        assertThat(response.departmentCount()).isEqualTo(3);
+        assertThat(response.employeeCount()).isEqualTo(4);
+        assertThat(response.totalBudget()).isEqualByComparingTo("1050.50");
+        assertThat(response.byLocation())
+                .extracting(LocationBreakdown::location, LocationBreakdown::departmentCount,
+                        LocationBreakdown::headcount, LocationBreakdown::budget)
+                .containsExactly(
+                        tuple("Berlin", 2L, 4L, new BigDecimal("1000.00")),
+                        tuple("Paris", 1L, 0L, new BigDecimal("50.50")));
+        assertThat(response.byLocation().get(0).headcountByStatus())
+                .containsEntry(EmploymentStatus.ACTIVE, 2L)
+                .containsEntry(EmploymentStatus.INACTIVE, 1L);
+        assertThat(response.byStatus())
+                .extracting(StatusBreakdown::status, StatusBreakdown::headcount, StatusBreakdown::allocatedBudget)
+                .containsExactly(
+                        tuple(EmploymentStatus.ACTIVE, 2L, new BigDecimal("600.00")),
+                        tuple(EmploymentStatus.ON_LEAVE, 1L, new BigDecimal("300.00")),
+                        tuple(EmploymentStatus.INACTIVE, 1L, new BigDecimal("100.00")),
+                        tuple(EmploymentStatus.TERMINATED, 0L, new BigDecimal("0.00")));
+        assertThat(response.budgetPerEmployee())
+                .extracting(DepartmentBudgetRank::code, DepartmentBudgetRank::budgetPerEmployee)
+                .containsExactly(tuple("ENG", new BigDecimal("300.00")));
+    }
+
+    private void hire(Long departmentId, String email, EmploymentStatus status) {
+        departmentService.addEmployee(departmentId, new EmployeeRequest(
+                "First", "Last", email, "Role", status, LocalDate.of(2020, 1, 1), null));
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.department.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.department.domain.EmploymentStatus;
+import com.example.department.dto.DepartmentRequest;
+import com.example.department.dto.EmployeeRequest;
+import com.example.department.dto.HeadcountTimeSeriesResponse;
+import com.example.department.dto.HeadcountTimeSeriesResponse.DepartmentSeries;
+import com.example.department.dto.HeadcountTimeSeriesResponse.Granularity;
+import com.example.department.exception.ResourceNotFoundException;
+import com.example.department.service.DepartmentChangedEvent;
+import com.example.department.service.DepartmentService;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@DataJpaTest
+@Import(DepartmentService.class)
+class HeadcountTimeSeriesTests {
+
+    private static final Clock TODAY = Clock.fixed(
+            LocalDate.of(2024, 3, 15).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private HeadcountTimeSeries timeSeries;
+    private Long eng;
+    private Long ops;
+
+    @BeforeEach
+    void setUp() {
+        timeSeries = new HeadcountTimeSeries(dataSource, 2, TODAY);
+        eng = departmentService.createDepartment(
+                new DepartmentRequest("Engineering", "ENG", null, "Berlin", null, new BigDecimal("900.00"))).id();
+        ops = departmentService.createDepartment(
+                new DepartmentRequest("Operations", "OPS", null, "Berlin", null, new BigDecimal("100.00"))).id();
+        hire(eng, "a@example.com", LocalDate.of(2023, 1, 10), null);
+        hire(eng, "b@example.com", LocalDate.of(2023, 6, 1), LocalDate.of(2023, 12, 31));
+        hire(eng, "c@example.com", LocalDate.of(2024, 3, 15), null);
+        hire(eng, "d@example.com", LocalDate.of(2024, 5, 1), null);
+        hire(eng, "e@example.com", null, null);
+        new JdbcTemplate(dataSource).update("""
+                insert into employees_archive (id, first_name, last_name, email, status, start_date, end_date,
+                    department_id, archived_at)
+                values (900001, 'F', 'Archived', 'f@example.com', 'TERMINATED', ?, ?, ?, current_timestamp)""",
+                LocalDate.of(2022, 1, 1), LocalDate.of(2022, 12, 31), eng);
+    }
+
+    @Test
+    void sweepsMonthlyHeadcountIncludingArchivedEmployees() {
+        HeadcountTimeSeriesResponse response = timeSeries.compute(eng, Granularity.MONTH, 5);
+
+        assertThat(response.asOf()).isEqualTo(LocalDate.of(2024, 3, 15));
+        assertThat(response.periods()).hasSize(24);
+        assertThat(response.periods().get(0)).isEqualTo(LocalDate.of(2022, 4, 1));
+        assertThat(response.periods().get(23)).isEqualTo(LocalDate.of(2024, 3, 1));
+        assertThat(response.departments()).singleElement().satisfies(series -> {
+            assertThat(series.code()).isEqualTo("ENG");
+            assertThat(series.headcount()).containsExactly(
+                    // 2022-04 .. 2022-12: the archived employee, still there on Dec 31
+                    1, 1, 1, 1, 1, 1, 1, 1, 1,
+                    // 2023-01 .. 2023-05
+                    1, 1, 1, 1, 1,
+                    // 2023-06 .. 2023-12
+                    2, 2, 2, 2, 2, 2, 2,
+                    // 2024-01 .. 2024-02, then today with the hire that starts today
+                    1, 1, 2);
+        });
+    }
+
+    @Test
+    void coversEveryDepartmentAtCoarserGranularity() {
+        HeadcountTimeSeriesResponse response = timeSeries.compute(null, Granularity.QUARTER, 2);
+
+        assertThat(response.periods()).containsExactly(
+                LocalDate.of(2022, 4, 1), LocalDate.of(2022, 7, 1), LocalDate.of(2022, 10, 1),
+                LocalDate.of(2023, 1, 1), LocalDate.of(2023, 4, 1), LocalDate.of(2023, 7, 1),
+                LocalDate.of(2023, 10, 1), LocalDate.of(2024, 1, 1));
+        assertThat(response.departments()).extracting(DepartmentSeries::code).containsExactly("ENG", "OPS");
+        assertThat(response.departments().get(0).headcount()).containsExactly(1, 1, 1, 1, 2, 2, 2, 2);
+        assertThat(response.departments().get(1).headcount()).containsOnly(0);
+
+        assertThat(timeSeries.compute(null, Granularity.YEAR, 1).departments().get(0).headcount())
+                .containsExactly(2);
+    }
+
+    @Test
+    void servesCachedSeriesUntilEmployeesChange() {
+        timeSeries.compute(null, Granularity.MONTH, 1);
+        assertThat(timeSeries.cachedSeries()).isEqualTo(2);
+
+        hire(eng, "g@example.com", LocalDate.of(2024, 1, 1), null);
+        assertThat(lastMonth(timeSeries.compute(eng, Granularity.MONTH, 1))).isEqualTo(2);
+
+        timeSeries.onDepartmentChanged(DepartmentChangedEvent.employeesChanged(eng));
+        assertThat(timeSeries.cachedSeries()).isEqualTo(1);
+        assertThat(lastMonth(timeSeries.compute(eng, Granularity.MONTH, 1))).isEqualTo(3);
+
+        timeSeries.onDepartmentChanged(DepartmentChangedEvent.catalogSynced());
+        assertThat(timeSeries.cachedSeries()).isZero();
+    }
+
+    @Test
+    void rejectsUnknownDepartment() {
+        assertThatThrownBy(() -> timeSeries.compute(ops + 1000, Granularity.MONTH, 1))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private static int lastMonth(HeadcountTimeSeriesResponse response) {
+        int[] headcount = response.departments().get(0).headcount();
+        return headcount[headcount.length - 1];
+    }
+
+    private void hire(Long departmentId, String email, LocalDate startDate, LocalDate endDate) {
+        departmentService.addEmployee(departmentId, new EmployeeRequest(
+                "First", "Last", email, "Role", EmploymentStatus.ACTIVE, startDate, endDate));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.department.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.department.domain.Department;
+import com.example.department.domain.Employee;
+import com.example.department.dto.DepartmentDetailResponse;
+import com.example.department.dto.DepartmentSummaryResponse;
+import com.example.department.dto.EmployeeResponse;
+import com.example.department.web.RestExceptionHandler;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+class NativeHintsTests {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    NativeHintsTests() {
+        new NativeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void entitiesAreReflectivelyAccessible() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(Department.class)
+                .withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(Employee.class)
+                .withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS))
+                .accepts(hints);
+    }
+
+    @Test
+    void responsesCanBeSerializedAndProjected() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(DepartmentDetailResponse.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(EmployeeResponse.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onConstructor(
+                DepartmentSummaryResponse.class.getConstructors()[0]).invoke()).accepts(hints);
+    }
+
+    @Test
+    void exceptionHandlerMethodsAreInvocable() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(RestExceptionHandler.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_METHODS))
+                .accepts(hints);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.department.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReplicaDataSourceConfigTests {
+
+    private final DataSource routing = ReplicaDataSourceConfig.readWriteRouting(
+            h2("routing-primary"), h2("routing-replica"));
+
+    private final DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        String url = readOnly.execute(status -> currentUrl());
+
+        assertThat(url).contains("routing-replica");
+    }
+
+    @Test
+    void readWriteTransactionsUsePrimary() {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        String url = readWrite.execute(status -> currentUrl());
+
+        assertThat(url).contains("routing-primary");
+    }
+
+    private String currentUrl() {
+        Connection connection = DataSourceUtils.getConnection(routing);
+        try {
+            return connection.getMetaData().getURL();
+        } catch (SQLException ex) {
+            throw new IllegalStateException(ex);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, routing);
+        }
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.department.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class IdempotencyFilterTests {
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @Test
+    void duplicateOutwaitingTheFirstRequestIsRejectedInsteadOfRunAgain() throws Exception {
+        IdempotencyFilter filter = filter(Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slowCreate = (request, response) -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            ((HttpServletResponse) response).setStatus(201);
+        };
+
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> run(filter, slowCreate));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        MockHttpServletResponse duplicate = run(filter, slowCreate);
+        assertThat(duplicate.getStatus()).isEqualTo(409);
+        assertThat(duplicate.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(duplicate.getContentAsString()).contains("still in progress");
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+        MockHttpServletResponse retry = run(filter, slowCreate);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void shedRequestIsNotReplayed() {
+        IdempotencyFilter filter = filter(Duration.ofSeconds(1));
+        FilterChain shed = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(429);
+        };
+        FilterChain create = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(201);
+        };
+
+        assertThat(run(filter, shed).getStatus()).isEqualTo(429);
+        MockHttpServletResponse retry = run(filter, create);
+
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(run(filter, create).getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void duplicateWaitingOnAFailedRequestIsToldToRetryRatherThanReplayed() throws Exception {
+        IdempotencyFilter filter = filter(Duration.ofSeconds(5));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain failingCreate = (request, response) -> {
+            executions.incrementAndGet();
+            started.countDown();
+            await(release);
+            ((HttpServletResponse) response).setStatus(503);
+        };
+        FilterChain create = (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(201);
+        };
+
+        CompletableFuture<MockHttpServletResponse> first =
+                CompletableFuture.supplyAsync(() -> run(filter, failingCreate));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<MockHttpServletResponse> duplicate = CompletableFuture.supplyAsync(() -> run(filter, create));
+        // The duplicate is parked on the first request; give it time to join before releasing it.
+        Thread.sleep(200);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(503);
+        MockHttpServletResponse waited = duplicate.get(5, TimeUnit.SECONDS);
+        assertThat(waited.getStatus()).isEqualTo(409);
+        assertThat(waited.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(waited.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(waited.getContentAsString()).contains("retry");
+
+        MockHttpServletResponse retry = run(filter, create);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        assertThat(executions).hasValue(2);
+    }
+
+    private static IdempotencyFilter filter(Duration maxWait) {
+        IdempotencyProperties properties = new IdempotencyProperties(
+                true, IdempotencyProperties.Store.MEMORY, Duration.ofHours(1), 100, maxWait);
+        return new IdempotencyFilter(new InMemoryIdempotencyStore(Duration.ofHours(1), 100), properties,
+                new ObjectMapper().findAndRegisterModules());
+    }
+
+    private static MockHttpServletResponse run(IdempotencyFilter filter, FilterChain chain) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/departments");
+        request.addHeader(IdempotencyFilter.HEADER, "create-research");
+        request.setContentType("application/json");
+        request.setContent("{\"name\":\"Research\"}".getBytes());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } catch (Exception ex) {
+            throw new AssertionError(ex);
+        }
+        return response;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.department.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+
+class InMemoryIdempotencyStoreTests {
+
+    private final TestClock clock = new TestClock();
+
+    @Test
+    void entriesExpireAfterTtl() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofMinutes(10), 100, clock);
+        store.save("a", response(201));
+
+        clock.advance(Duration.ofMinutes(9));
+        assertThat(store.find("a")).map(StoredResponse::status).contains(201);
+
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(store.find("a")).isEmpty();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void oldestEntriesAreEvictedBeyondMaxEntries() {
+        InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(Duration.ofHours(1), 2, clock);
+        store.save("a", response(201));
+        store.save("b", response(201));
+        store.save("c", response(409));
+
+        assertThat(store.find("a")).isEmpty();
+        assertThat(store.find("b")).isPresent();
+        assertThat(store.find("c")).map(StoredResponse::status).contains(409);
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    private static StoredResponse response(int status) {
+        return new StoredResponse("fingerprint", status, "application/json", null, new byte[0]);
+    }
+
+    private static final class TestClock extends Clock {
+
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
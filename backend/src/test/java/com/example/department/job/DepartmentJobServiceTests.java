@@ -0,0 +1,89 @@
+package com.example.department.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.department.domain.EmploymentStatus;
+import com.example.department.domain.JobStatus;
+import com.example.department.domain.JobType;
+import com.example.department.dto.DepartmentBulkRequest;
+import com.example.department.dto.DepartmentMovesRequest;
+import com.example.department.dto.DepartmentRequest;
+import com.example.department.dto.EmployeeRequest;
+import com.example.department.dto.JobResponse;
+import com.example.department.dto.SubtreeDeleteRequest;
+import com.example.department.repository.DepartmentRepository;
+import com.example.department.service.DepartmentService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+// Jobs run on worker threads and commit per chunk, so these tests work against committed data.
+@SpringBootTest(properties = "department.jobs.chunk-size=100")
+class DepartmentJobServiceTests {
+
+    @Autowired
+    private DepartmentJobService jobService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Test
+    void importsInChunksThenDeletesTheWholeSubtree() throws Exception {
+        Long rootId = departmentService.createDepartment(new DepartmentRequest(
+                "Job Root", "JOBROOT", null, "NY", null, new BigDecimal("1000"))).id();
+        List<DepartmentRequest> departments = IntStream.range(0, 250)
+                .mapToObj(i -> new DepartmentRequest(
+                        "Imported " + i, "JOBIMP" + i, null, "NY", null, new BigDecimal("10"), rootId))
+                .toList();
+
+        JobResponse imported = await(jobService.submit(JobType.DEPARTMENT_IMPORT, new DepartmentBulkRequest(departments)));
+
+        assertThat(imported.status()).isEqualTo(JobStatus.SUCCEEDED);
+        assertThat(imported.completedItems()).isEqualTo(250);
+        assertThat(departmentService.getRollup(rootId).descendantCount()).isEqualTo(250);
+        assertThat(departmentService.getRollup(rootId).subtreeBudget()).isEqualByComparingTo("3500");
+
+        Long childId = departmentRepository.findByCodeIgnoreCase("JOBIMP7").orElseThrow().getId();
+        departmentService.addEmployee(childId, new EmployeeRequest(
+                "Job", "Tester", "job.tester@example.com", null, EmploymentStatus.ACTIVE, LocalDate.of(2020, 1, 1), null));
+
+        JobResponse deleted = await(jobService.submit(JobType.SUBTREE_DELETE, new SubtreeDeleteRequest(rootId)));
+
+        assertThat(deleted.status()).isEqualTo(JobStatus.SUCCEEDED);
+        assertThat(deleted.totalItems()).isEqualTo(252);
+        assertThat(deleted.completedItems()).isEqualTo(252);
+        assertThat(departmentRepository.findById(rootId)).isEmpty();
+        assertThat(departmentRepository.findByCodeIgnoreCase("JOBIMP7")).isEmpty();
+    }
+
+    @Test
+    void failingChunkMarksTheJobFailedAndItCanBeRestarted() throws Exception {
+        JobResponse failed = await(jobService.submit(JobType.DEPARTMENT_MOVES,
+                new DepartmentMovesRequest(List.of(new DepartmentMovesRequest.Move(-1L, null)))));
+
+        assertThat(failed.status()).isEqualTo(JobStatus.FAILED);
+        assertThat(failed.completedItems()).isZero();
+        assertThat(failed.error()).contains("Department not found");
+
+        JobResponse retried = await(jobService.restart(failed.id()));
+
+        assertThat(retried.status()).isEqualTo(JobStatus.FAILED);
+    }
+
+    private JobResponse await(JobResponse submitted) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        JobResponse job = submitted;
+        while ((job.status() == JobStatus.QUEUED || job.status() == JobStatus.RUNNING) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            job = jobService.getJob(submitted.id());
+        }
+        return job;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.department.lifecycle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.department.domain.EmploymentStatus;
+import com.example.department.dto.ArchivedEmployeeResponse;
+import com.example.department.dto.DepartmentRequest;
+import com.example.department.dto.EmployeeRequest;
+import com.example.department.dto.EmployeeResponse;
+import com.example.department.repository.ArchivedEmployeeRepository;
+import com.example.department.repository.EmployeeRepository;
+import com.example.department.service.DepartmentService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+@DataJpaTest
+@Import({DepartmentService.class, EmployeeArchiver.class})
+@TestPropertySource(properties = "department.archive.chunk-size=2")
+class EmployeeArchiverTests {
+
+    private static final LocalDate CUTOFF = LocalDate.of(2025, 6, 1);
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private EmployeeArchiver archiver;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ArchivedEmployeeRepository archivedEmployeeRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void movesLongTerminatedEmployeesOutOfTheLiveTable() {
+        Long engineeringId = departmentService.createDepartment(
+                new DepartmentRequest("Engineering", "ENG", null, "NY", null, new BigDecimal("1000"))).id();
+        Long platformId = departmentService.createDepartment(
+                new DepartmentRequest("Platform", "PLAT", null, "NY", null, new BigDecimal("500"), engineeringId)).id();
+        hire(platformId, "gone.1@example.com", EmploymentStatus.TERMINATED, CUTOFF.minusYears(2));
+        hire(platformId, "gone.2@example.com", EmploymentStatus.TERMINATED, CUTOFF.minusDays(1));
+        hire(engineeringId, "gone.3@example.com", EmploymentStatus.TERMINATED, CUTOFF.minusMonths(3));
+        hire(platformId, "recent@example.com", EmploymentStatus.TERMINATED, CUTOFF);
+        hire(platformId, "pending@example.com", EmploymentStatus.ACTIVE, CUTOFF.minusYears(1));
+
+        assertThat(archiver.archiveEndedBefore(CUTOFF)).isEqualTo(3);
+        assertThat(archiver.archiveEndedBefore(CUTOFF)).isZero();
+        entityManager.clear();
+
+        assertThat(employeeRepository.count()).isEqualTo(2);
+        assertThat(archivedEmployeeRepository.count()).isEqualTo(3);
+        assertThat(departmentService.getRollup(engineeringId).subtreeHeadcount()).isEqualTo(2);
+        assertThat(departmentService.getDepartment(platformId).employees())
+                .extracting(EmployeeResponse::email)
+                .containsExactlyInAnyOrder("recent@example.com", "pending@example.com");
+        assertThat(departmentService.listArchivedEmployees(platformId, 0, 10))
+                .extracting(ArchivedEmployeeResponse::email)
+                .containsExactly("gone.2@example.com", "gone.1@example.com");
+    }
+
+    @Test
+    void archivedEmailCanBeHiredAgain() {
+        Long departmentId = departmentService.createDepartment(
+                new DepartmentRequest("Sales", "SALES", null, "NY", null, new BigDecimal("1000"))).id();
+        hire(departmentId, "returning@example.com", EmploymentStatus.TERMINATED, CUTOFF.minusYears(1));
+        archiver.archiveEndedBefore(CUTOFF);
+
+        hire(departmentId, "returning@example.com", EmploymentStatus.ACTIVE, null);
+
+        assertThat(employeeRepository.findByEmailIgnoreCase("returning@example.com")).isPresent();
+        assertThat(departmentService.listArchivedEmployees(departmentId, 0, 10)).hasSize(1);
+    }
+
+    private void hire(Long departmentId, String email, EmploymentStatus status, LocalDate endDate) {
+        departmentService.addEmployee(departmentId, new EmployeeRequest(
+                "Test", "Employee", email, null, status, LocalDate.of(2020, 1, 1), endDate));
+    }
+}
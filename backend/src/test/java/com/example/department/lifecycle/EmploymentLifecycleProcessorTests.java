@@ -0,0 +1,62 @@
+package com.example.department.lifecycle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.department.domain.EmploymentStatus;
+import com.example.department.dto.DepartmentRequest;
+import com.example.department.dto.EmployeeRequest;
+import com.example.department.repository.EmployeeRepository;
+import com.example.department.service.DepartmentService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+@DataJpaTest
+@Import({DepartmentService.class, EmploymentLifecycleProcessor.class})
+@TestPropertySource(properties = "department.lifecycle.chunk-size=2")
+class EmploymentLifecycleProcessorTests {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 6, 1);
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private EmploymentLifecycleProcessor processor;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Test
+    void terminatesEmployeesPastTheirEndDateInChunks() {
+        Long departmentId = departmentService.createDepartment(
+                new DepartmentRequest("Engineering", "ENG", null, "NY", null, new BigDecimal("1000"))).id();
+        hire(departmentId, "left.1@example.com", EmploymentStatus.ACTIVE, TODAY.minusDays(1));
+        hire(departmentId, "left.2@example.com", EmploymentStatus.ON_LEAVE, TODAY.minusMonths(1));
+        hire(departmentId, "left.3@example.com", EmploymentStatus.INACTIVE, TODAY.minusYears(1));
+        hire(departmentId, "leaving@example.com", EmploymentStatus.ACTIVE, TODAY);
+        hire(departmentId, "staying@example.com", EmploymentStatus.ACTIVE, null);
+
+        assertThat(processor.terminateEndedBefore(TODAY)).isEqualTo(3);
+        assertThat(processor.terminateEndedBefore(TODAY)).isZero();
+
+        assertThat(status("left.1@example.com")).isEqualTo(EmploymentStatus.TERMINATED);
+        assertThat(status("left.2@example.com")).isEqualTo(EmploymentStatus.TERMINATED);
+        assertThat(status("left.3@example.com")).isEqualTo(EmploymentStatus.TERMINATED);
+        assertThat(status("leaving@example.com")).isEqualTo(EmploymentStatus.ACTIVE);
+        assertThat(status("staying@example.com")).isEqualTo(EmploymentStatus.ACTIVE);
+    }
+
+    private EmploymentStatus status(String email) {
+        return employeeRepository.findByEmailIgnoreCase(email).orElseThrow().getStatus();
+    }
+
+    private void hire(Long departmentId, String email, EmploymentStatus status, LocalDate endDate) {
+        departmentService.addEmployee(departmentId, new EmployeeRequest(
+                "Test", "Employee", email, null, status, LocalDate.of(2020, 1, 1), endDate));
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.department.reactive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.department.domain.EmploymentStatus;
+import com.example.department.dto.DepartmentDetailResponse;
+import com.example.department.dto.DepartmentRequest;
+import com.example.department.dto.DepartmentSummaryResponse;
+import com.example.department.dto.EmployeeRequest;
+import com.example.department.dto.EmployeeResponse;
+import com.example.department.service.DepartmentService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+// Not @Transactional: R2DBC reads on its own connections and only sees committed rows.
+@SpringBootTest
+class ReactiveDepartmentRoutesTests {
+
+    @Autowired
+    private RouterFunction<ServerResponse> reactiveDepartmentRoutes;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    private final List<Long> created = new ArrayList<>();
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void init() {
+        client = WebTestClient.bindToRouterFunction(reactiveDepartmentRoutes).build();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        // Children were created after their parents.
+        for (int i = created.size() - 1; i >= 0; i--) {
+            departmentService.deleteDepartment(created.get(i));
+        }
+    }
+
+    @Test
+    void listStreamsTheSameSummariesAsTheBlockingService() {
+        Long beta = create("rx Beta", "RXB", null);
+        create("RX Alpha", "RXA", null);
+        hire(beta, "rx.beta@example.com", "Zimmer");
+
+        List<DepartmentSummaryResponse> streamed = client.get().uri("/departments?q=rx")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(DepartmentSummaryResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(streamed).extracting(DepartmentSummaryResponse::code).containsExactly("RXA", "RXB");
+        assertThat(streamed).extracting(DepartmentSummaryResponse::employeeCount).containsExactly(0, 1);
+        assertThat(streamed).extracting(DepartmentSummaryResponse::id)
+                .containsExactlyElementsOf(departmentService.listDepartments("rx").stream()
+                        .map(DepartmentSummaryResponse::id)
+                        .toList());
+    }
+
+    @Test
+    void listWithoutNdjsonIsAJsonArray() {
+        create("Rx Gamma", "RXG", null);
+
+        client.get().uri("/departments?q=rxg")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].code").isEqualTo("RXG");
+    }
+
+    @Test
+    void detailMatchesTheBlockingService() {
+        Long parent = create("Rx Parent", "RXP", null);
+        Long child = create("Rx Child", "RXC", parent);
+        hire(child, "rx.young@example.com", "Young");
+        hire(child, "rx.adams@example.com", "Adams");
+
+        DepartmentDetailResponse detail = client.get().uri("/departments/{id}", child)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(DepartmentDetailResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        DepartmentDetailResponse expected = departmentService.getDepartment(child);
+        assertThat(detail.parentId()).isEqualTo(parent);
+        assertThat(detail.code()).isEqualTo(expected.code());
+        assertThat(detail.annualBudget()).isEqualByComparingTo(expected.annualBudget());
+        assertThat(detail.employees()).extracting(EmployeeResponse::email)
+                .containsExactly("rx.adams@example.com", "rx.young@example.com")
+                .containsExactlyElementsOf(expected.employees().stream().map(EmployeeResponse::email).toList());
+    }
+
+    @Test
+    void unknownOrMalformedIdsUseTheErrorBody() {
+        client.get().uri("/departments/{id}", Long.MAX_VALUE)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.message").isEqualTo("Department not found: " + Long.MAX_VALUE);
+
+        client.get().uri("/departments/not-a-number")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private Long create(String name, String code, Long parentId) {
+        Long id = departmentService.createDepartment(
+                new DepartmentRequest(name, code, null, "Remote", null, new BigDecimal("1000"), parentId)).id();
+        created.add(id);
+        return id;
+    }
+
+    private void hire(Long departmentId, String email, String lastName) {
+        departmentService.addEmployee(departmentId, new EmployeeRequest(
+                "Test", lastName, email, null, EmploymentStatus.ACTIVE, LocalDate.of(2024, 1, 1), null));
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.department.readmodel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import com.example.department.domain.EmploymentStatus;
+import com.example.department.dto.DepartmentRequest;
+import com.example.department.dto.DepartmentSummaryResponse;
+import com.example.department.dto.EmployeeRequest;
+import com.example.department.service.DepartmentService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "department.read-model.enabled=true")
+class DepartmentSummaryReadModelTests {
+
+    @Autowired
+    private DepartmentSummaryReadModel readModel;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Test
+    void listMatchesDatabaseResults() {
+        assertThat(readModel.list(null)).isEqualTo(departmentService.listDepartments(null));
+        assertThat(readModel.list("fin")).isEqualTo(departmentService.listDepartments("fin"));
+    }
+
+    @Test
+    void committedChangesAreApplied() {
+        Long id = departmentService.createDepartment(new DepartmentRequest(
+                "Logistics", "LOG", "Moves things", "Denver", "Sam Carter", new BigDecimal("420000.50")))
+                .id();
+        try {
+            assertThat(readModel.list("log"))
+                    .extracting(DepartmentSummaryResponse::code, DepartmentSummaryResponse::annualBudget)
+                    .containsExactly(tuple("LOG", new BigDecimal("420000.50")));
+
+            departmentService.addEmployee(id, new EmployeeRequest(
+                    "Jack", "O'Neill", "jack.oneill@example.com", "Coordinator",
+                    EmploymentStatus.ACTIVE, LocalDate.of(2021, 3, 1), null));
+
+            assertThat(readModel.list("LOG")).singleElement()
+                    .extracting(DepartmentSummaryResponse::employeeCount)
+                    .isEqualTo(1);
+            assertThat(readModel.list(null)).extracting(DepartmentSummaryResponse::name)
+                    .containsExactly("Engineering", "Finance", "Human Resources", "Logistics");
+        } finally {
+            departmentService.deleteDepartment(id);
+        }
+
+        assertThat(readModel.list("log")).isEmpty();
+    }
+
+    @Test
+    void listingReusesOnePublishedListUntilTheNextChange() {
+        DepartmentSummaryReadModel model = new DepartmentSummaryReadModel(null);
+        model.upsert(summary(1L, "Research", "Ada", "Denver"));
+        model.upsert(summary(2L, "Audit", "Ada", "Denver"));
+
+        List<DepartmentSummaryResponse> first = model.list(null);
+        assertThat(model.list(" ")).isSameAs(first);
+        assertThat(first).extracting(DepartmentSummaryResponse::name).containsExactly("Audit", "Research");
+
+        model.upsert(summary(1L, "Accounts", "Ada", "Denver"));
+
+        assertThat(model.list(null)).isNotSameAs(first)
+                .extracting(DepartmentSummaryResponse::name).containsExactly("Accounts", "Audit");
+        assertThat(first).extracting(DepartmentSummaryResponse::name).containsExactly("Audit", "Research");
+    }
+
+    @Test
+    void publishingReusesTheSummariesOfUnchangedRows() {
+        DepartmentSummaryReadModel model = new DepartmentSummaryReadModel(null);
+        model.upsert(summary(1L, "Research", "Ada", "Denver"));
+        model.upsert(summary(2L, "Audit", "Ada", "Denver"));
+        List<DepartmentSummaryResponse> first = model.list(null);
+
+        DepartmentSummaryResponse renamedHead = summary(1L, "Research", "Grace", "Denver");
+        model.upsert(renamedHead);
+        List<DepartmentSummaryResponse> second = model.list(null);
+
+        assertThat(second.get(0)).isSameAs(first.get(0));
+        assertThat(second.get(1)).isNotSameAs(first.get(1)).isEqualTo(renamedHead);
+    }
+
+    @Test
+    void randomChangesMatchAPlainMapInNameOrder() {
+        DepartmentSummaryReadModel model = new DepartmentSummaryReadModel(null);
+        Map<Long, DepartmentSummaryResponse> expected = new HashMap<>();
+        Random random = new Random(42);
+        OffsetDateTime now = OffsetDateTime.parse("2024-05-01T10:15:30.123456+02:00");
+        for (int change = 0; change < 5_000; change++) {
+            long id = 1 + random.nextInt(300);
+            if (random.nextInt(4) == 0) {
+                model.remove(id);
+                expected.remove(id);
+            } else {
+                DepartmentSummaryResponse summary = summary(
+                        id, "Dept " + random.nextInt(50), "Head " + random.nextInt(5), "City " + random.nextInt(5), now);
+                model.upsert(summary);
+                expected.put(id, summary);
+            }
+        }
+
+        assertThat(model.list(null)).containsExactlyElementsOf(expected.values().stream()
+                .sorted(Comparator.comparing(DepartmentSummaryResponse::name, String.CASE_INSENSITIVE_ORDER)
+                        .thenComparing(DepartmentSummaryResponse::id))
+                .toList());
+        assertThat(model.size()).isEqualTo(expected.size());
+    }
+
+    @Test
+    void sharedStringsAreReleasedWithTheirLastRow() {
+        DepartmentSummaryReadModel model = new DepartmentSummaryReadModel(null);
+        model.upsert(summary(1L, "Research", "Ada", "Denver"));
+        model.upsert(summary(2L, "Audit", "Ada", "Boston"));
+        assertThat(model.sharedStrings()).isEqualTo(3);
+
+        model.upsert(summary(1L, "Research", "Grace", "Boston"));
+        assertThat(model.sharedStrings()).isEqualTo(3);
+
+        model.remove(2L);
+        assertThat(model.sharedStrings()).isEqualTo(2);
+        model.remove(1L);
+        assertThat(model.sharedStrings()).isZero();
+        assertThat(model.size()).isZero();
+    }
+
+    private static DepartmentSummaryResponse summary(Long id, String name, String head, String location) {
+        return summary(id, name, head, location, OffsetDateTime.now());
+    }
+
+    private static DepartmentSummaryResponse summary(
+            Long id, String name, String head, String location, OffsetDateTime updatedAt) {
+        return new DepartmentSummaryResponse(
+                id, name, name.toUpperCase(), head, location, new BigDecimal("1000.00"), 0, updatedAt);
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.department.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.department.domain.EmploymentStatus;
+import com.example.department.dto.DepartmentDetailResponse;
+import com.example.department.dto.DepartmentRequest;
+import com.example.department.dto.DepartmentSummaryResponse;
+import com.example.department.dto.EmployeeRequest;
+import com.example.department.exception.ResourceNotFoundException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// Not transactional: the callers read on their own threads and only see committed rows.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({DepartmentService.class, CoalescingDepartmentReaderTests.StatementCounter.class})
+class CoalescingDepartmentReaderTests {
+
+    private static final int CALLERS = 32;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private StatementCounter statements;
+
+    private CoalescingDepartmentReader reader;
+    private final ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+    private Long engineeringId;
+
+    @BeforeEach
+    void setUp() {
+        reader = new CoalescingDepartmentReader(departmentService, true, Duration.ofSeconds(10));
+        engineeringId = departmentService.createDepartment(new DepartmentRequest(
+                "Engineering", "ENG", null, null, null, new BigDecimal("1000000"))).id();
+        departmentService.addEmployee(engineeringId, new EmployeeRequest(
+                "Grace", "Hopper", "ghopper@example.com", null, EmploymentStatus.ACTIVE, LocalDate.of(2010, 1, 10), null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+        departmentService.deleteDepartment(engineeringId);
+    }
+
+    @Test
+    void concurrentDetailReadsRunTheStatementsOfOneRead() throws Exception {
+        int oneRead = statements.countDuring(() -> reader.getDepartment(engineeringId));
+
+        statements.reset();
+        List<Future<DepartmentDetailResponse>> results = submitAll(() -> reader.getDepartment(engineeringId));
+
+        DepartmentDetailResponse detail = results.get(0).get(10, TimeUnit.SECONDS);
+        assertThat(detail.employees()).hasSize(1);
+        for (Future<DepartmentDetailResponse> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isSameAs(detail);
+        }
+        assertThat(oneRead).isPositive();
+        assertThat(statements.count()).isEqualTo(oneRead);
+    }
+
+    @Test
+    void listQueriesDifferingOnlyInCaseRunTheStatementsOfOneQuery() throws Exception {
+        int oneQuery = statements.countDuring(() -> reader.listDepartments("eng"));
+        AtomicInteger caller = new AtomicInteger();
+
+        statements.reset();
+        List<Future<List<DepartmentSummaryResponse>>> results = submitAll(
+                () -> reader.listDepartments(caller.incrementAndGet() % 2 == 0 ? " eng" : "ENG "));
+
+        List<DepartmentSummaryResponse> summaries = results.get(0).get(10, TimeUnit.SECONDS);
+        assertThat(summaries).extracting(DepartmentSummaryResponse::code).containsExactly("ENG");
+        for (Future<List<DepartmentSummaryResponse>> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isSameAs(summaries);
+        }
+        assertThat(oneQuery).isPositive();
+        assertThat(statements.count()).isEqualTo(oneQuery);
+    }
+
+    @Test
+    void failureIsSharedWithWaitersAndNotRemembered() throws Exception {
+        Long missing = engineeringId + 1000;
+        int oneLookup = statements.countDuring(() -> assertThatThrownBy(() -> reader.getDepartment(missing))
+                .isInstanceOf(ResourceNotFoundException.class));
+
+        statements.reset();
+        List<Future<DepartmentDetailResponse>> results = submitAll(() -> reader.getDepartment(missing));
+
+        for (Future<DepartmentDetailResponse> result : results) {
+            assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(ResourceNotFoundException.class);
+        }
+        assertThat(statements.count()).isEqualTo(oneLookup);
+
+        assertThatThrownBy(() -> reader.getDepartment(missing)).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(statements.count()).isEqualTo(2 * oneLookup);
+    }
+
+    // Holds the first statement until every caller is blocked, either inside it or waiting on it.
+    private <T> List<Future<T>> submitAll(Callable<T> call) throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        statements.holdFirst(release);
+        List<Thread> threads = new ArrayList<>();
+        List<Future<T>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> {
+                synchronized (threads) {
+                    threads.add(Thread.currentThread());
+                }
+                return call.call();
+            }));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!allBlocked(threads) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        return results;
+    }
+
+    private static boolean allBlocked(List<Thread> threads) {
+        synchronized (threads) {
+            return threads.size() == CALLERS && threads.stream()
+                    .allMatch(thread -> thread.getState() == Thread.State.TIMED_WAITING);
+        }
+    }
+
+    /** Counts the JDBC statements created through the DataSource, optionally holding the first one. */
+    static class StatementCounter implements BeanPostProcessor {
+
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicReference<CountDownLatch> hold = new AtomicReference<>();
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return counting(super.getConnection());
+                }
+            };
+        }
+
+        int count() {
+            return count.get();
+        }
+
+        void reset() {
+            count.set(0);
+        }
+
+        int countDuring(Runnable work) {
+            reset();
+            work.run();
+            return count();
+        }
+
+        void holdFirst(CountDownLatch release) {
+            hold.set(release);
+        }
+
+        private Connection counting(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("prepare") || name.equals("createStatement")) {
+                            statementCreated();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getCause();
+                        }
+                    });
+        }
+
+        private void statementCreated() throws InterruptedException {
+            count.incrementAndGet();
+            CountDownLatch release = hold.getAndSet(null);
+            if (release != null) {
+                release.await(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+}
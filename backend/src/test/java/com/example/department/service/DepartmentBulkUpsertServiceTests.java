@@ -0,0 +1,96 @@
+package com.example.department.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.department.domain.Department;
+import com.example.department.dto.DepartmentBulkResponse;
+import com.example.department.dto.DepartmentRequest;
+import com.example.department.exception.BusinessValidationException;
+import com.example.department.exception.ResourceNotFoundException;
+import com.example.department.repository.DepartmentRepository;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest
+@Import({DepartmentService.class, DepartmentBulkUpsertService.class})
+class DepartmentBulkUpsertServiceTests {
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private DepartmentBulkUpsertService bulkUpsertService;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Test
+    void insertsUpdatesAndSkipsUnchangedDepartments() {
+        Long engId = departmentService.createDepartment(request("Engineering", "ENG", "1000", null)).id();
+        departmentService.createDepartment(request("Finance", "FIN", "500", null));
+
+        DepartmentBulkResponse response = bulkUpsertService.upsert(List.of(
+                request("Engineering", "eng", "1500", null),
+                request("Finance", "FIN", "500.00", null),
+                request("Platform", "PLAT", "200", engId)));
+
+        assertThat(response).isEqualTo(new DepartmentBulkResponse(1, 1, 1));
+        Department engineering = departmentRepository.findByCodeIgnoreCase("ENG").orElseThrow();
+        assertThat(engineering.getAnnualBudget()).isEqualByComparingTo("1500");
+        // Updated rows share one timestamp; an unchanged row keeps its older one.
+        assertThat(departmentRepository.findByCodeIgnoreCase("FIN").orElseThrow().getUpdatedAt())
+                .isBefore(engineering.getUpdatedAt());
+        Long platformId = departmentRepository.findByCodeIgnoreCase("PLAT").orElseThrow().getId();
+        assertThat(departmentService.getDepartment(platformId).parentId()).isEqualTo(engId);
+        assertThat(departmentService.getRollup(engId).descendantCount()).isEqualTo(1);
+        assertThat(departmentService.getRollup(engId).subtreeBudget()).isEqualByComparingTo("1700");
+        assertThat(departmentService.getRollup(platformId).subtreeBudget()).isEqualByComparingTo("200");
+    }
+
+    @Test
+    void repeatingTheSameCatalogChangesNothing() {
+        List<DepartmentRequest> catalog = List.of(
+                request("Engineering", "ENG", "1000", null),
+                request("Finance", "FIN", "500", null));
+
+        assertThat(bulkUpsertService.upsert(catalog)).isEqualTo(new DepartmentBulkResponse(2, 0, 0));
+        assertThat(bulkUpsertService.upsert(catalog)).isEqualTo(new DepartmentBulkResponse(0, 0, 2));
+        assertThat(departmentRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void duplicateCodesInOneRequestAreRejected() {
+        assertThatThrownBy(() -> bulkUpsertService.upsert(List.of(
+                request("Engineering", "ENG", "1000", null),
+                request("Engineering Again", "eng ", "1000", null))))
+                .isInstanceOf(BusinessValidationException.class);
+    }
+
+    @Test
+    void parentsMustExistBeforeTheRequest() {
+        long unknownId = departmentRepository.count() + 1000;
+
+        assertThatThrownBy(() -> bulkUpsertService.upsert(List.of(
+                request("Engineering", "ENG", "1000", null),
+                request("Platform", "PLAT", "200", unknownId))))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("existed before this request");
+
+        // Nothing was written; the parent goes first, its children in a second request.
+        assertThat(bulkUpsertService.upsert(List.of(request("Engineering", "ENG", "1000", null))))
+                .isEqualTo(new DepartmentBulkResponse(1, 0, 0));
+        Long engId = departmentRepository.findByCodeIgnoreCase("ENG").orElseThrow().getId();
+        assertThat(bulkUpsertService.upsert(List.of(request("Platform", "PLAT", "200", engId))))
+                .isEqualTo(new DepartmentBulkResponse(1, 0, 0));
+        assertThat(departmentService.getRollup(engId).subtreeBudget()).isEqualByComparingTo("1200");
+    }
+
+    private DepartmentRequest request(String name, String code, String budget, Long parentId) {
+        return new DepartmentRequest(name, code, null, "NY", null, new BigDecimal(budget), parentId);
+    }
+}
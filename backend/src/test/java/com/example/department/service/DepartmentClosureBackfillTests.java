@@ -0,0 +1,62 @@
+package com.example.department.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.department.domain.EmploymentStatus;
+import com.example.department.dto.DepartmentRequest;
+import com.example.department.dto.DepartmentSummaryResponse;
+import com.example.department.dto.EmployeeRequest;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@DataJpaTest
+@Import({DepartmentService.class, DepartmentClosureBackfill.class})
+class DepartmentClosureBackfillTests {
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private DepartmentClosureBackfill backfill;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void departmentsWithoutClosureRowsGetTheirHierarchyAndRollups() {
+        Long rootId = create("Engineering", "ENG", "1000000", null);
+        Long platformId = create("Platform", "PLAT", "200000", rootId);
+        Long storageId = create("Storage", "STOR", null, platformId);
+        departmentService.addEmployee(storageId, new EmployeeRequest(
+                "Alan", "Kay", "alan.kay@example.com", null, EmploymentStatus.ACTIVE, LocalDate.of(2020, 1, 1), null));
+        assertThat(backfill.backfill()).isZero();
+
+        // As left behind by releases that predate the hierarchy.
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("delete from department_closure where descendant_id <> ?", rootId);
+        jdbc.update("update departments set subtree_headcount = 0, subtree_budget = 0");
+
+        assertThat(backfill.backfill()).isEqualTo(2);
+
+        var rollup = departmentService.getRollup(rootId);
+        assertThat(rollup.descendantCount()).isEqualTo(2);
+        assertThat(rollup.subtreeHeadcount()).isEqualTo(1);
+        assertThat(rollup.subtreeBudget()).isEqualByComparingTo("1200000");
+        assertThat(departmentService.getRollup(storageId).subtreeHeadcount()).isEqualTo(1);
+        assertThat(departmentService.listDescendants(rootId))
+                .extracting(DepartmentSummaryResponse::code)
+                .containsExactly("PLAT", "STOR");
+        assertThat(backfill.backfill()).isZero();
+    }
+
+    private Long create(String name, String code, String budget, Long parentId) {
+        return departmentService.createDepartment(new DepartmentRequest(
+                name, code, null, null, null, budget == null ? null : new BigDecimal(budget), parentId)).id();
+    }
+}
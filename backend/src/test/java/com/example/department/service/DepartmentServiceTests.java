@@ -5,7 +5,9 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.example.department.domain.EmploymentStatus;
 import com.example.department.dto.DepartmentRequest;
+import com.example.department.dto.DepartmentSummaryResponse;
 import com.example.department.dto.EmployeeRequest;
+import com.example.department.exception.BusinessValidationException;
 import com.example.department.exception.DuplicateResourceException;
 import com.example.department.exception.ResourceNotFoundException;
 import com.example.department.repository.DepartmentRepository;
@@ -103,4 +105,82 @@ class DepartmentServiceTests {
         assertThatThrownBy(() -> departmentService.getDepartment(departmentId))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
+
+    @Test
+    void subtreeRollupsFollowEmployeesAndBudgets() {
+        Long rootId = departmentService.createDepartment(engineeringRequest).id();
+        Long platformId = departmentService.createDepartment(childRequest("Platform", "PLAT", "200000", rootId)).id();
+        Long storageId = departmentService.createDepartment(childRequest("Storage", "STOR", "50000", platformId)).id();
+        departmentService.addEmployee(storageId, employeeRequest("alan.kay@example.com"));
+        Long removedId = departmentService.addEmployee(platformId, employeeRequest("barbara.liskov@example.com")).id();
+        departmentService.removeEmployee(platformId, removedId);
+        departmentService.updateDepartment(storageId, childRequest("Storage", "STOR", "75000", platformId));
+
+        var rollup = departmentService.getRollup(rootId);
+
+        assertThat(rollup.descendantCount()).isEqualTo(2);
+        assertThat(rollup.subtreeHeadcount()).isEqualTo(1);
+        assertThat(rollup.subtreeBudget()).isEqualByComparingTo("1275000");
+        assertThat(departmentService.listDescendants(rootId))
+                .extracting(DepartmentSummaryResponse::code)
+                .containsExactly("PLAT", "STOR");
+        assertThat(departmentService.getDepartment(storageId).parentId()).isEqualTo(platformId);
+    }
+
+    @Test
+    void reparentingMovesSubtreeTotals() {
+        Long rootId = departmentService.createDepartment(engineeringRequest).id();
+        Long otherRootId = departmentService.createDepartment(childRequest("Operations", "OPS", "300000", null)).id();
+        Long platformId = departmentService.createDepartment(childRequest("Platform", "PLAT", "200000", rootId)).id();
+        Long storageId = departmentService.createDepartment(childRequest("Storage", "STOR", "50000", platformId)).id();
+        departmentService.addEmployee(storageId, employeeRequest("alan.kay@example.com"));
+
+        departmentService.updateDepartment(platformId, childRequest("Platform", "PLAT", "200000", otherRootId));
+
+        assertThat(departmentService.getRollup(rootId).subtreeHeadcount()).isZero();
+        assertThat(departmentService.getRollup(rootId).subtreeBudget()).isEqualByComparingTo("1000000");
+        assertThat(departmentService.getRollup(otherRootId).subtreeHeadcount()).isEqualTo(1);
+        assertThat(departmentService.getRollup(otherRootId).subtreeBudget()).isEqualByComparingTo("550000");
+        assertThat(departmentService.listDescendants(otherRootId))
+                .extracting(DepartmentSummaryResponse::code)
+                .containsExactly("PLAT", "STOR");
+        assertThatThrownBy(() -> departmentService.updateDepartment(
+                otherRootId, childRequest("Operations", "OPS", "300000", storageId)))
+                .isInstanceOf(BusinessValidationException.class);
+        assertThatThrownBy(() -> departmentService.deleteDepartment(platformId))
+                .isInstanceOf(BusinessValidationException.class);
+
+        departmentService.deleteDepartment(storageId);
+
+        assertThat(departmentService.getRollup(otherRootId).subtreeHeadcount()).isZero();
+        assertThat(departmentService.getRollup(otherRootId).subtreeBudget()).isEqualByComparingTo("500000");
+    }
+
+    @Test
+    void updateWithoutParentIdKeepsTheParent() {
+        Long rootId = departmentService.createDepartment(engineeringRequest).id();
+        Long platformId = departmentService.createDepartment(childRequest("Platform", "PLAT", "200000", rootId)).id();
+        departmentService.addEmployee(platformId, employeeRequest("alan.kay@example.com"));
+
+        departmentService.updateDepartment(platformId, new DepartmentRequest(
+                "Platform", "PLAT", null, "NY", null, new BigDecimal("250000")));
+
+        assertThat(departmentService.getDepartment(platformId).parentId()).isEqualTo(rootId);
+        assertThat(departmentService.getRollup(rootId).subtreeHeadcount()).isEqualTo(1);
+        assertThat(departmentService.getRollup(rootId).subtreeBudget()).isEqualByComparingTo("1250000");
+
+        departmentService.moveDepartment(platformId, null);
+
+        assertThat(departmentService.getDepartment(platformId).parentId()).isNull();
+        assertThat(departmentService.getRollup(rootId).subtreeBudget()).isEqualByComparingTo("1000000");
+    }
+
+    private DepartmentRequest childRequest(String name, String code, String budget, Long parentId) {
+        return new DepartmentRequest(name, code, null, "NY", null, new BigDecimal(budget), parentId);
+    }
+
+    private EmployeeRequest employeeRequest(String email) {
+        return new EmployeeRequest(
+                "Test", "Employee", email, "Engineer", EmploymentStatus.ACTIVE, LocalDate.of(2020, 1, 1), null);
+    }
 }
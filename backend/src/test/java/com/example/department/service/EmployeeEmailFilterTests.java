@@ -0,0 +1,96 @@
+package com.example.department.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.department.domain.Department;
+import com.example.department.domain.Employee;
+import com.example.department.domain.EmploymentStatus;
+import com.example.department.dto.DepartmentRequest;
+import com.example.department.dto.EmployeeRequest;
+import com.example.department.exception.DuplicateResourceException;
+import com.example.department.repository.DepartmentRepository;
+import com.example.department.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+
+@DataJpaTest
+@Import({DepartmentService.class, EmployeeEmailFilter.class, SimpleMeterRegistry.class})
+class EmployeeEmailFilterTests {
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void newEmailsSkipTheLookupAndKnownOnesAreRejected() {
+        Long departmentId = createDepartment();
+        double skipped = precheck("skipped");
+        double queried = precheck("queried");
+
+        departmentService.addEmployee(departmentId, employeeRequest("Grace.Hopper@example.com"));
+
+        assertThat(precheck("skipped")).isEqualTo(skipped + 1);
+        assertThatThrownBy(() -> departmentService.addEmployee(departmentId, employeeRequest("grace.hopper@example.com")))
+                .isInstanceOf(DuplicateResourceException.class);
+        assertThat(precheck("queried")).isEqualTo(queried + 1);
+    }
+
+    @Test
+    void uniqueConstraintCatchesEmailsTheFilterNeverSaw() {
+        Long departmentId = createDepartment();
+        Department department = departmentRepository.findById(departmentId).orElseThrow();
+        Employee hidden = new Employee();
+        hidden.setFirstName("Alan");
+        hidden.setLastName("Turing");
+        hidden.setEmail("alan.turing@example.com");
+        hidden.setStatus(EmploymentStatus.ACTIVE);
+        department.addEmployee(hidden);
+        employeeRepository.saveAndFlush(hidden);
+        double skipped = precheck("skipped");
+
+        assertThatThrownBy(() -> departmentService.addEmployee(departmentId, employeeRequest("alan.turing@example.com")))
+                .isInstanceOf(DuplicateResourceException.class);
+        assertThat(precheck("skipped")).isEqualTo(skipped + 1);
+    }
+
+    @Test
+    void otherIntegrityViolationsAreNotReportedAsDuplicateEmails() {
+        Long departmentId = createDepartment();
+        EmployeeRequest tooLong = new EmployeeRequest("x".repeat(61), "Employee", "new.hire@example.com",
+                "Engineer", EmploymentStatus.ACTIVE, LocalDate.of(2020, 1, 1), null);
+
+        assertThatThrownBy(() -> departmentService.addEmployee(departmentId, tooLong))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .isNotInstanceOf(DuplicateResourceException.class);
+    }
+
+    private Long createDepartment() {
+        return departmentService.createDepartment(new DepartmentRequest(
+                "Engineering", "ENG", null, "NY", null, new BigDecimal("1000"))).id();
+    }
+
+    private double precheck(String result) {
+        return meterRegistry.get("department.email.precheck").tag("result", result).counter().count();
+    }
+
+    private EmployeeRequest employeeRequest(String email) {
+        return new EmployeeRequest(
+                "Test", "Employee", email, "Engineer", EmploymentStatus.ACTIVE, LocalDate.of(2020, 1, 1), null);
+    }
+}
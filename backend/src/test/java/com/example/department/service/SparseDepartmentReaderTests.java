@@ -0,0 +1,117 @@
+package com.example.department.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.department.domain.EmploymentStatus;
+import com.example.department.dto.DepartmentRequest;
+import com.example.department.dto.EmployeeRequest;
+import com.example.department.exception.BusinessValidationException;
+import com.example.department.exception.ResourceNotFoundException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest
+@Import({DepartmentService.class, SparseDepartmentReader.class})
+class SparseDepartmentReaderTests {
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private SparseDepartmentReader sparseReader;
+
+    @Test
+    void listReturnsOnlySelectedFieldsInNameOrder() {
+        Long finance = departmentService.createDepartment(request("finance", "FIN", null)).id();
+        Long engineering = departmentService.createDepartment(request("Engineering", "ENG", null)).id();
+        departmentService.addEmployee(finance, employee("noah.kim@example.com", "Kim", "Noah"));
+
+        List<Map<String, Object>> rows = sparseReader.listDepartments(
+                null, DepartmentFieldSelection.forSummary("employeeCount,code,id"));
+
+        assertThat(rows).containsExactly(
+                Map.of("id", engineering, "code", "ENG", "employeeCount", 0),
+                Map.of("id", finance, "code", "FIN", "employeeCount", 1));
+        // Keys follow the full response's order, not the order they were asked in.
+        assertThat(rows.get(0).keySet()).containsExactly("id", "code", "employeeCount");
+    }
+
+    @Test
+    void listSearchesNameAndCode() {
+        departmentService.createDepartment(request("Engineering", "ENG", null));
+        departmentService.createDepartment(request("Finance", "FIN", null));
+
+        assertThat(sparseReader.listDepartments("fin", DepartmentFieldSelection.forSummary("name")))
+                .containsExactly(Map.of("name", "Finance"));
+        assertThat(sparseReader.listDepartments("%", DepartmentFieldSelection.forSummary("name"))).isEmpty();
+    }
+
+    @Test
+    void detailLoadsEmployeesOnlyWhenSelected() {
+        Long parent = departmentService.createDepartment(request("Engineering", "ENG", null)).id();
+        Long platform = departmentService.createDepartment(request("Platform", "PLAT", parent)).id();
+        departmentService.addEmployee(platform, employee("linus@example.com", "Torvalds", "Linus"));
+        Long graceId = departmentService.addEmployee(platform, employee("grace@example.com", "Hopper", "Grace")).id();
+
+        Map<String, Object> withoutEmployees =
+                sparseReader.getDepartment(platform, DepartmentFieldSelection.forDetail("parentId,name"));
+        assertThat(withoutEmployees).containsExactly(Map.entry("name", "Platform"), Map.entry("parentId", parent));
+
+        Map<String, Object> withEmployees =
+                sparseReader.getDepartment(platform, DepartmentFieldSelection.forDetail("id, employees(email)"));
+        assertThat(withEmployees).containsEntry("id", platform);
+        assertThat(withEmployees.get("employees")).isEqualTo(List.of(
+                Map.of("email", "grace@example.com"),
+                Map.of("email", "linus@example.com")));
+
+        Map<String, Object> allEmployeeFields =
+                sparseReader.getDepartment(platform, DepartmentFieldSelection.forDetail("employees"));
+        assertThat(allEmployeeFields).containsOnlyKeys("employees");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> grace = ((List<Map<String, Object>>) allEmployeeFields.get("employees")).get(0);
+        assertThat(grace.keySet()).containsExactly(
+                "id", "firstName", "lastName", "email", "jobTitle", "status", "startDate", "endDate");
+        assertThat(grace.get("id")).isEqualTo(graceId);
+        assertThat(grace.get("status")).isEqualTo("ACTIVE");
+        assertThat(grace.get("startDate")).isEqualTo(LocalDate.of(2020, 1, 1));
+        assertThat(grace.get("endDate")).isNull();
+    }
+
+    @Test
+    void unknownDepartmentIsNotFound() {
+        assertThatThrownBy(() -> sparseReader.getDepartment(404L, DepartmentFieldSelection.forDetail("id")))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void invalidSelectionsAreRejected() {
+        assertThatThrownBy(() -> DepartmentFieldSelection.forSummary("id,salary"))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessage("Unknown fields: salary");
+        assertThatThrownBy(() -> DepartmentFieldSelection.forDetail("employees(id,ssn)"))
+                .isInstanceOf(BusinessValidationException.class)
+                .hasMessage("Unknown fields: employees.ssn");
+        assertThatThrownBy(() -> DepartmentFieldSelection.forSummary("employees(id)"))
+                .isInstanceOf(BusinessValidationException.class);
+        assertThatThrownBy(() -> DepartmentFieldSelection.forDetail("employees(id"))
+                .isInstanceOf(BusinessValidationException.class);
+        assertThatThrownBy(() -> DepartmentFieldSelection.forDetail(" , "))
+                .isInstanceOf(BusinessValidationException.class);
+    }
+
+    private DepartmentRequest request(String name, String code, Long parentId) {
+        return new DepartmentRequest(name, code, "A long description", "NY", "Head", new BigDecimal("1000"), parentId);
+    }
+
+    private EmployeeRequest employee(String email, String lastName, String firstName) {
+        return new EmployeeRequest(firstName, lastName, email, "Engineer", EmploymentStatus.ACTIVE,
+                LocalDate.of(2020, 1, 1), null);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.department.sharding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.department.domain.EmploymentStatus;
+import com.example.department.dto.DepartmentRequest;
+import com.example.department.dto.DepartmentSummaryResponse;
+import com.example.department.dto.EmployeeRequest;
+import com.example.department.exception.BusinessValidationException;
+import com.example.department.exception.DuplicateResourceException;
+import com.example.department.service.DepartmentService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest(properties = {
+        "department.sharding.enabled=true",
+        "department.sharding.shards[0].url=jdbc:h2:mem:shard-0;DB_CLOSE_DELAY=-1",
+        "department.sharding.shards[0].username=sa",
+        "department.sharding.shards[0].password=",
+        "department.sharding.shards[1].url=jdbc:h2:mem:shard-1;DB_CLOSE_DELAY=-1",
+        "department.sharding.shards[1].username=sa",
+        "department.sharding.shards[1].password=",
+        "department.sharding.shards[2].url=jdbc:h2:mem:shard-2;DB_CLOSE_DELAY=-1",
+        "department.sharding.shards[2].username=sa",
+        "department.sharding.shards[2].password="
+})
+class ShardedDepartmentServiceTests {
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private ShardRouter shards;
+
+    @Autowired
+    private ShardRoutingDataSource pools;
+
+    @Test
+    void departmentTreeLivesOnTheShardOfItsRootCode() {
+        String code = codeOnShard(2, "TREE");
+        Long rootId = create("Tree Root", code, null);
+        Long childId = create("Tree Child", code + "-CHILD", rootId);
+
+        assertThat(shards.shardForId(rootId)).isEqualTo(2);
+        assertThat(shards.shardForId(childId)).isEqualTo(2);
+        for (int shard = 0; shard < 3; shard++) {
+            long expected = shard == 2 ? 1 : 0;
+            assertThat(countOn(shard, "select count(*) from departments where id = ?", rootId)).isEqualTo(expected);
+            assertThat(countOn(shard, "select count(*) from departments where id = ?", childId)).isEqualTo(expected);
+        }
+        assertThat(departmentService.getRollup(rootId).descendantCount()).isEqualTo(1);
+        assertThat(departmentService.listDescendants(rootId))
+                .extracting(DepartmentSummaryResponse::id)
+                .containsExactly(childId);
+    }
+
+    @Test
+    void listingGathersEveryShardInNameOrder() {
+        Long zulu = create("zulu list", codeOnShard(0, "LIST"), null);
+        Long alpha = create("Alpha list", codeOnShard(1, "LIST"), null);
+        Long mike = create("mike list", codeOnShard(2, "LIST"), null);
+
+        List<DepartmentSummaryResponse> all = departmentService.listDepartments(null);
+        assertThat(all).extracting(DepartmentSummaryResponse::id).contains(zulu, alpha, mike);
+        assertThat(all).isSortedAccordingTo(
+                Comparator.comparing(DepartmentSummaryResponse::name, String.CASE_INSENSITIVE_ORDER));
+        assertThat(departmentService.listDepartments("list"))
+                .extracting(DepartmentSummaryResponse::id)
+                .containsExactly(alpha, mike, zulu);
+    }
+
+    @Test
+    void emailsAreUniqueAcrossShards() {
+        Long first = create("Email One", codeOnShard(0, "MAIL"), null);
+        Long second = create("Email Two", codeOnShard(1, "MAIL"), null);
+        Long employeeId = hire(first, "shared@shard.test");
+
+        assertThatThrownBy(() -> hire(second, "Shared@Shard.test"))
+                .isInstanceOf(DuplicateResourceException.class);
+
+        departmentService.removeEmployee(first, employeeId);
+        hire(second, "shared@shard.test");
+        assertThat(departmentService.getDepartment(second).employees()).hasSize(1);
+    }
+
+    @Test
+    void codesAreUniqueAcrossShards() {
+        String taken = codeOnShard(0, "CODE");
+        create("Code Owner", taken, null);
+        Long otherRoot = create("Code Other", codeOnShard(1, "CODE"), null);
+
+        assertThatThrownBy(() -> create("Code Clash", taken, otherRoot))
+                .isInstanceOf(DuplicateResourceException.class);
+    }
+
+    @Test
+    void departmentsCannotMoveAcrossShards() {
+        Long root = create("Move Root", codeOnShard(0, "MOVE"), null);
+        Long child = create("Move Child", codeOnShard(0, "MOVE") + "-CHILD", root);
+        Long elsewhere = create("Move Elsewhere", codeOnShard(1, "MOVE"), null);
+
+        assertThatThrownBy(() -> departmentService.moveDepartment(child, elsewhere))
+                .isInstanceOf(BusinessValidationException.class);
+    }
+
+    private Long create(String name, String code, Long parentId) {
+        return departmentService.createDepartment(
+                new DepartmentRequest(name, code, null, "NY", null, new BigDecimal("100"), parentId)).id();
+    }
+
+    private Long hire(Long departmentId, String email) {
+        return departmentService.addEmployee(departmentId, new EmployeeRequest(
+                "Test", "Employee", email, null, EmploymentStatus.ACTIVE, LocalDate.of(2024, 1, 1), null)).id();
+    }
+
+    private long countOn(int shard, String sql, Object... args) {
+        return new JdbcTemplate(pools.shard(shard)).queryForObject(sql, Long.class, args);
+    }
+
+    // Codes are unique per test method, and each one hashes to the requested shard.
+    private String codeOnShard(int shard, String prefix) {
+        for (int i = 0; ; i++) {
+            String code = prefix + "-" + shard + "-" + i;
+            if (shards.shardForCode(code) == shard) {
+                return code;
+            }
+        }
+    }
+}
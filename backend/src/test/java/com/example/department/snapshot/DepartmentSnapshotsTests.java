@@ -0,0 +1,135 @@
+package com.example.department.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.department.domain.EmploymentStatus;
+import com.example.department.dto.DepartmentRequest;
+import com.example.department.dto.EmployeeRequest;
+import com.example.department.dto.SnapshotResponse;
+import com.example.department.service.DepartmentService;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:snapshot-tests;DB_CLOSE_DELAY=-1")
+class DepartmentSnapshotsTests {
+
+    private static final List<String> TABLES = List.of(
+            "select * from departments order by id",
+            "select * from department_closure order by ancestor_id, descendant_id",
+            "select * from employees order by id",
+            "select * from employees_archive order by id");
+
+    @Autowired
+    private DepartmentSnapshots snapshots;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void restoresEveryTableIntoAnEmptyDatabase() {
+        Long root = departmentService.createDepartment(new DepartmentRequest(
+                "Snapshot Root", "SNAP-ROOT", "Café résumé", "Zürich", null, new BigDecimal("1000.50"))).id();
+        Long child = departmentService.createDepartment(new DepartmentRequest(
+                "Snapshot Child", "SNAP-CHILD", null, null, "Head", null, root)).id();
+        hire(child, "snap.active@example.com", EmploymentStatus.ACTIVE, LocalDate.of(2021, 2, 1), null);
+        hire(child, "snap.gone@example.com", EmploymentStatus.TERMINATED,
+                LocalDate.of(2015, 1, 1), LocalDate.of(2016, 1, 1));
+        departmentService.archiveTerminatedEmployees(LocalDate.now(), 100);
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        List<List<Map<String, Object>>> before = TABLES.stream().map(jdbc::queryForList).toList();
+        Path file = directory.resolve("departments.snapshot");
+
+        SnapshotResponse saved = snapshots.save(file);
+        assertThat(saved.archivedEmployees()).isEqualTo(1);
+        assertThat(saved.bytes()).isEqualTo(fileSize(file));
+
+        wipe(jdbc);
+        SnapshotResponse restored = snapshots.restore(file);
+
+        assertThat(restored.departments()).isEqualTo(saved.departments());
+        assertThat(restored.employees()).isEqualTo(saved.employees());
+        assertThat(TABLES.stream().map(jdbc::queryForList).toList()).isEqualTo(before);
+        assertThat(departmentService.getRollup(root).subtreeHeadcount()).isEqualTo(1);
+        long maxDepartmentId = jdbc.queryForObject("select max(id) from departments", Long.class);
+        assertThat(departmentService.createDepartment(
+                new DepartmentRequest("After Restore", "SNAP-AFTER", null, null, null, null)).id())
+                .isGreaterThan(maxDepartmentId);
+        assertThatThrownBy(() -> snapshots.restore(file))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("empty database");
+    }
+
+    @Test
+    void rejectsCorruptedAndIncompatibleFiles() throws IOException {
+        Path file = directory.resolve("departments.snapshot");
+        snapshots.save(file);
+
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(raw.length() - 1);
+            int last = raw.read();
+            raw.seek(raw.length() - 1);
+            raw.write(last ^ 0xFF);
+        }
+        assertThatThrownBy(() -> SnapshotReader.open(file))
+                .isInstanceOf(InvalidSnapshotException.class)
+                .hasMessageContaining("checksum mismatch");
+
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(8);
+            raw.write(SnapshotFormat.VERSION + 1);
+        }
+        assertThatThrownBy(() -> SnapshotReader.open(file))
+                .isInstanceOf(InvalidSnapshotException.class)
+                .hasMessageContaining("format version");
+
+        Files.write(file, new byte[] {1, 2, 3});
+        assertThatThrownBy(() -> SnapshotReader.open(file))
+                .isInstanceOf(InvalidSnapshotException.class)
+                .hasMessageContaining("shorter than the header");
+    }
+
+    // Leaves before parents, so the parent_id foreign key never blocks a delete.
+    private static void wipe(JdbcTemplate jdbc) {
+        jdbc.update("delete from employees_archive");
+        jdbc.update("delete from employees");
+        jdbc.update("delete from department_closure");
+        while (jdbc.update("""
+                delete from departments
+                where id not in (select parent_id from departments where parent_id is not null)""") > 0) {
+            // next level up
+        }
+    }
+
+    private void hire(Long departmentId, String email, EmploymentStatus status, LocalDate start, LocalDate end) {
+        departmentService.addEmployee(departmentId, new EmployeeRequest(
+                "Snap", "Shot", email, null, status, start, end));
+    }
+
+    private static long fileSize(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+}
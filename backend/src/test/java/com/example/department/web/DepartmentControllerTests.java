@@ -4,22 +4,39 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.example.department.admission.Admission;
+import com.example.department.admission.TrafficClass;
 import com.example.department.domain.EmploymentStatus;
+import com.example.department.dto.DepartmentDetailResponse;
 import com.example.department.dto.DepartmentRequest;
 import com.example.department.dto.EmployeeRequest;
+import com.example.department.idempotency.IdempotencyFilter;
+import com.example.department.repository.DepartmentRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.method.HandlerMethod;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -32,6 +49,9 @@ class DepartmentControllerTests {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
     private DepartmentRequest departmentRequest;
 
     @BeforeEach
@@ -56,6 +76,71 @@ class DepartmentControllerTests {
         assertThat(payload).contains("Engineering");
     }
 
+    @Test
+    void fieldsParameterReturnsOnlySelectedProperties() throws Exception {
+        String list = mockMvc.perform(get("/api/departments").param("fields", "employeeCount,code"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<Map<String, Object>> rows = objectMapper.readValue(list, new TypeReference<>() {
+        });
+        assertThat(rows).isNotEmpty();
+        assertThat(rows.get(0).keySet()).containsExactly("code", "employeeCount");
+
+        mockMvc.perform(get("/api/departments").param("fields", "code,salary"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void binaryFormatsAreNegotiatedAndJsonStaysTheDefault() throws Exception {
+        String created = mockMvc.perform(post("/api/departments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(departmentRequest)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        long id = objectMapper.readTree(created).get("id").asLong();
+        String json = mockMvc.perform(get("/api/departments/" + id))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        byte[] cbor = mockMvc.perform(get("/api/departments/" + id).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        byte[] smile = mockMvc.perform(get("/api/departments/" + id).accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        // Same content as the JSON body, dates and decimal scales included.
+        DepartmentDetailResponse expected = objectMapper.readValue(json, DepartmentDetailResponse.class);
+        assertThat(new CBORMapper().findAndRegisterModules().readValue(cbor, DepartmentDetailResponse.class))
+                .isEqualTo(expected);
+        assertThat(new SmileMapper().findAndRegisterModules().readValue(smile, DepartmentDetailResponse.class))
+                .isEqualTo(expected);
+        assertThat(cbor.length).isLessThan(json.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    void cborRequestBodiesAreAccepted() throws Exception {
+        mockMvc.perform(post("/api/departments")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(new CBORMapper().writeValueAsBytes(departmentRequest)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
     @Test
     void createDepartmentThenAddEmployee() throws Exception {
         String departmentResponse = mockMvc.perform(post("/api/departments")
@@ -106,4 +191,92 @@ class DepartmentControllerTests {
 
         assertThat(afterDelete).doesNotContain("nora.roberts@example.com");
     }
+
+    @Test
+    void parentEndpointMovesADepartmentToTheTopLevel() throws Exception {
+        long parentId = createDepartment(departmentRequest);
+        long childId = createDepartment(new DepartmentRequest(
+                "Research Labs", "RES-LAB", null, null, null, new BigDecimal("100000"), parentId));
+
+        String moved = mockMvc.perform(put("/api/departments/" + childId + "/parent")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"parentId\":null}"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(objectMapper.readTree(moved).get("parentId").isNull()).isTrue();
+        String rollup = mockMvc.perform(get("/api/departments/" + parentId + "/rollup"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        assertThat(objectMapper.readTree(rollup).get("descendantCount").asLong()).isZero();
+        assertThat(objectMapper.readTree(rollup).get("subtreeBudget").decimalValue())
+                .isEqualByComparingTo("500000");
+    }
+
+    @Test
+    void onlyFilteredListingsAreSearchTraffic() throws Exception {
+        assertThat(admissionOf(get("/api/departments"))).isNull();
+        assertThat(admissionOf(get("/api/departments").param("q", "eng"))).isEqualTo(TrafficClass.SEARCH);
+        assertThat(admissionOf(get("/api/departments").param("q", "eng").param("fields", "id,name")))
+                .isEqualTo(TrafficClass.SEARCH);
+    }
+
+    @Test
+    void retriedPostWithIdempotencyKeyIsReplayed() throws Exception {
+        String payload = objectMapper.writeValueAsString(departmentRequest);
+        long before = departmentRepository.count();
+
+        String first = mockMvc.perform(post("/api/departments")
+                        .header(IdempotencyFilter.HEADER, "create-research")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String retry = mockMvc.perform(post("/api/departments")
+                        .header(IdempotencyFilter.HEADER, "create-research")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(header().string("Location", "/api/departments/" + objectMapper.readTree(first).get("id")))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertThat(retry).isEqualTo(first);
+        assertThat(departmentRepository.count()).isEqualTo(before + 1);
+
+        mockMvc.perform(post("/api/departments")
+                        .header(IdempotencyFilter.HEADER, "create-research")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload.replace("Research", "Other")))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    private long createDepartment(DepartmentRequest request) throws Exception {
+        String created = mockMvc.perform(post("/api/departments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readTree(created).get("id").asLong();
+    }
+
+    // Null means the default for the HTTP method, READ for a GET.
+    private TrafficClass admissionOf(MockHttpServletRequestBuilder request) throws Exception {
+        Object handler = mockMvc.perform(request).andExpect(status().isOk()).andReturn().getHandler();
+        Admission admission = AnnotatedElementUtils.findMergedAnnotation(
+                ((HandlerMethod) handler).getMethod(), Admission.class);
+        return admission == null ? null : admission.value();
+    }
 }